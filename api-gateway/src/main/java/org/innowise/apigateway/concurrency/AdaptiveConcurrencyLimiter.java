@@ -0,0 +1,107 @@
+package org.innowise.apigateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the upstream's latency, after the gradient algorithm of Netflix
+ * concurrency-limits. Each response time is compared with a slow moving average of past ones:
+ * while it stays within {@code tolerance} of that average the limit grows by a fraction of its
+ * square root, once the upstream starts queueing the limit shrinks in proportion to the slowdown.
+ * Failed or timed-out calls cut the limit by {@code backoffRatio}, since their latency is not a
+ * usable sample. The limit never leaves {@code [minLimit, maxLimit]}.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DRIFT_RATIO = 2.0;
+    private static final double DRIFT_DECAY = 0.95;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double longRttFactor;
+
+    private volatile double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, double backoffRatio, int longRttWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.longRttFactor = 2.0 / (longRttWindow + 1);
+        this.estimatedLimit = clamp(initialLimit);
+    }
+
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a call that completed normally and feeds its response time into the limit.
+     */
+    public void onSuccess(long rttNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        update(Math.max(rttNanos, 1), concurrent);
+    }
+
+    /**
+     * Releases a call that failed or timed out, a sign of an overloaded upstream.
+     */
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        estimatedLimit = clamp(estimatedLimit * backoffRatio);
+    }
+
+    /**
+     * Releases a call that says nothing about the upstream, e.g. one cancelled by the client.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int concurrent) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * longRttFactor;
+        }
+        if (longRttNanos / rttNanos > DRIFT_RATIO) {
+            longRttNanos *= DRIFT_DECAY;
+        }
+
+        double limit = estimatedLimit;
+        if (concurrent < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        estimatedLimit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,29 @@
+package org.innowise.apigateway.config;
+
+import org.innowise.apigateway.loadbalancer.UpstreamRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+import java.util.List;
+
+@Configuration
+public class HttpClientConfiguration {
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                                      ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      UpstreamRegistry upstreamRegistry,
+                                                      @Value("${app.http-client.protocols:}") List<HttpProtocol> protocols,
+                                                      @Value("${app.http-client.keep-alive:true}") boolean keepAlive) {
+        return new UpstreamPoolHttpClientFactory(properties, serverProperties, sslConfigurer, customizers,
+                upstreamRegistry, protocols, keepAlive);
+    }
+}
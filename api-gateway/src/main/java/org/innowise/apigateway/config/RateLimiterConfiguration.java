@@ -0,0 +1,63 @@
+package org.innowise.apigateway.config;
+
+import org.innowise.apigateway.ratelimit.InMemoryRateLimiter;
+import org.innowise.apigateway.ratelimit.MeteredRedisRateLimiter;
+import org.innowise.apigateway.ratelimit.PrincipalOrIpKeyResolver;
+import org.innowise.apigateway.ratelimit.RateLimiterMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class RateLimiterConfiguration {
+    private static final String MODE_PROPERTY = "app.rate-limit.mode";
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "in-memory", matchIfMissing = true)
+    public InMemoryRateLimiter inMemoryRateLimiter(ConfigurationService configurationService,
+                                                   RateLimiterMetrics metrics,
+                                                   @Value("${app.rate-limit.replenish-rate:20}") int replenishRate,
+                                                   @Value("${app.rate-limit.burst-capacity:40}") int burstCapacity,
+                                                   @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                                                   @Value("${app.rate-limit.idle-timeout:5m}") Duration idleTimeout) {
+        InMemoryRateLimiter.Config defaultConfig = new InMemoryRateLimiter.Config();
+        defaultConfig.setReplenishRate(replenishRate);
+        defaultConfig.setBurstCapacity(burstCapacity);
+        return new InMemoryRateLimiter(configurationService, metrics, defaultConfig, maxBuckets, idleTimeout);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "redis")
+    public MeteredRedisRateLimiter meteredRedisRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                                           @Qualifier(RedisRateLimiter.REDIS_SCRIPT_NAME)
+                                                           RedisScript<List<Long>> script,
+                                                           ConfigurationService configurationService,
+                                                           RateLimiterMetrics metrics) {
+        return new MeteredRedisRateLimiter(redisTemplate, script, configurationService, metrics);
+    }
+
+    @Bean
+    public PrincipalOrIpKeyResolver principalOrIpKeyResolver(
+            @Value("${app.rate-limit.trusted-proxy-hops:0}") int trustedProxyHops) {
+        RemoteAddressResolver remoteAddressResolver = trustedProxyHops > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxyHops)
+                : new RemoteAddressResolver() {
+                };
+        return new PrincipalOrIpKeyResolver(remoteAddressResolver,
+                XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxyHops + 1));
+    }
+}
@@ -0,0 +1,17 @@
+package org.innowise.apigateway.config;
+
+import org.innowise.apigateway.util.RevocationListPoller;
+import org.innowise.common.util.RevocationList;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The revocation snapshot checked by {@code JwtFilter}, kept current by {@link RevocationListPoller}.
+ */
+@Configuration
+public class RevocationConfiguration {
+    @Bean
+    public RevocationList revocationList() {
+        return new RevocationList();
+    }
+}
@@ -0,0 +1,97 @@
+package org.innowise.apigateway.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.apigateway.loadbalancer.UpstreamRegistry;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the gateway's Reactor Netty client with a dedicated connection pool per upstream.
+ * Every upstream starts from the global {@code spring.cloud.gateway.httpclient.pool} settings and
+ * overrides only what is set under {@code app.http-client.upstreams.<name>}; pools are keyed by
+ * instance host and port, so each instance of an upstream gets its own pool with the upstream's settings.
+ */
+@Slf4j
+public class UpstreamPoolHttpClientFactory extends HttpClientFactory {
+    private static final int UNBOUNDED = -1;
+
+    private final UpstreamRegistry upstreamRegistry;
+    private final List<HttpProtocol> protocols;
+    private final boolean keepAlive;
+
+    public UpstreamPoolHttpClientFactory(HttpClientProperties properties,
+                                         ServerProperties serverProperties,
+                                         HttpClientSslConfigurer sslConfigurer,
+                                         List<HttpClientCustomizer> customizers,
+                                         UpstreamRegistry upstreamRegistry,
+                                         List<HttpProtocol> protocols,
+                                         boolean keepAlive) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.upstreamRegistry = upstreamRegistry;
+        this.protocols = protocols;
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    protected HttpClient createInstance() {
+        HttpClient httpClient = super.createInstance()
+                .keepAlive(keepAlive)
+                .option(ChannelOption.SO_KEEPALIVE, keepAlive);
+        return protocols.isEmpty() ? httpClient : httpClient.protocol(protocols.toArray(HttpProtocol[]::new));
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
+            return super.buildConnectionProvider(properties);
+        }
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName());
+        applyDefaults(builder, pool);
+
+        upstreamRegistry.getUpstreams().forEach((name, upstream) ->
+                upstreamRegistry.getInstances(name).forEach(instance -> {
+                    builder.forRemoteHost(InetSocketAddress.createUnresolved(instance.getHost(), instance.getPort()),
+                            spec -> {
+                                applyDefaults(spec, pool);
+                                upstream.applyTo(spec);
+                            });
+                    log.info("Configured connection pool for upstream {} ({})", name, instance.getInstanceId());
+                }));
+
+        return builder.build();
+    }
+
+    private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> void applyDefaults(
+            S spec, HttpClientProperties.Pool pool) {
+        spec.maxConnections(pool.getType() == HttpClientProperties.Pool.PoolType.FIXED
+                        ? pool.getMaxConnections() : Integer.MAX_VALUE)
+                .pendingAcquireMaxCount(UNBOUNDED)
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()))
+                .metrics(pool.isMetrics());
+        if (pool.getMaxIdleTime() != null) {
+            spec.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if (pool.getMaxLifeTime() != null) {
+            spec.maxLifeTime(pool.getMaxLifeTime());
+        }
+        spec.evictInBackground(pool.getEvictionInterval());
+        if (pool.getLeasingStrategy() == HttpClientProperties.Pool.LeasingStrategy.LIFO) {
+            spec.lifo();
+        } else {
+            spec.fifo();
+        }
+    }
+}
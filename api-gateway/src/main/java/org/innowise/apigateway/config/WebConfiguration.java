@@ -0,0 +1,23 @@
+package org.innowise.apigateway.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Applies {@code spring.cloud.gateway.globalcors} to the gateway's own controllers as well,
+ * which the gateway otherwise only uses for routed requests.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebFluxConfigurer {
+    private final GlobalCorsProperties globalCorsProperties;
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        globalCorsProperties.getCorsConfigurations()
+                .forEach((pattern, configuration) -> registry.addMapping(pattern).combine(configuration));
+    }
+}
@@ -0,0 +1,116 @@
+package org.innowise.apigateway.config.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.innowise.apigateway.concurrency.AdaptiveConcurrencyLimiter;
+import org.innowise.apigateway.exception.ConcurrencyLimitExceededException;
+import org.innowise.apigateway.metrics.RouteTiming;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds requests above the route's {@link AdaptiveConcurrencyLimiter} limit instead of letting them queue
+ * on a slowing upstream. A rejected request fails with {@link ConcurrencyLimitExceededException}, which the
+ * route's {@code CircuitBreaker} filter ignores and turns into its 503 fallback, so it must be declared after it.
+ * Limiters are kept per route id, so a route refresh does not forget the limit learned so far.
+ * The round trip ends when the upstream response headers arrive ({@link RouteTiming}), or when the response
+ * is committed if no upstream was called, so a slow client reading the body does not shrink the limit.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+    private static final String LIMIT_METRIC = "gateway.concurrency.limit";
+    private static final String IN_FLIGHT_METRIC = "gateway.concurrency.in-flight";
+    private static final String REJECTED_METRIC = "gateway.concurrency.rejected";
+    private static final String ROUTE_TAG = "route";
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = String.valueOf(config.getRouteId());
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(routeId, id -> register(id, config));
+        Counter rejected = Counter.builder(REJECTED_METRIC)
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new ConcurrencyLimitExceededException(routeId, limiter.getLimit()));
+            }
+
+            long start = System.nanoTime();
+            AtomicLong committed = new AtomicLong();
+            exchange.getResponse().beforeCommit(() -> {
+                committed.compareAndSet(0, System.nanoTime());
+                return Mono.empty();
+            });
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (signal == SignalType.ON_ERROR || status != null && status.is5xxServerError()) {
+                            limiter.onDropped();
+                        } else if (signal == SignalType.ON_COMPLETE) {
+                            limiter.onSuccess(roundTripEnd(exchange, start, committed.get()) - start);
+                        } else {
+                            limiter.onIgnored();
+                        }
+                    });
+        };
+    }
+
+    private static long roundTripEnd(ServerWebExchange exchange, long start, long committed) {
+        RouteTiming timing = exchange.getAttribute(ApplicationConstant.ROUTE_TIMING_ATTRIBUTE);
+        long responded = timing != null ? timing.getRespondedNanos() : 0;
+        if (responded - start > 0) {
+            return responded;
+        }
+        return committed != 0 ? committed : System.nanoTime();
+    }
+
+    private AdaptiveConcurrencyLimiter register(String routeId, Config config) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), config.getTolerance(), config.getSmoothing(),
+                config.getBackoffRatio(), config.getLongRttWindow());
+        Gauge.builder(LIMIT_METRIC, limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int initialLimit = 20;
+        private int minLimit = 5;
+        private int maxLimit = 500;
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+        private int longRttWindow = 600;
+    }
+}
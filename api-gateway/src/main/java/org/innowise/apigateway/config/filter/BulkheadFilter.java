@@ -0,0 +1,40 @@
+package org.innowise.apigateway.config.filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the number of in-flight requests a route may have open against its upstream, using the
+ * {@code resilience4j.bulkhead.instances.<name>} settings (the route id unless {@code name} is set).
+ * Excess requests fail immediately with a {@code BulkheadFullException}, which the route's
+ * {@code CircuitBreaker} filter turns into its fallback response, so it must be declared after it.
+ */
+@Component
+public class BulkheadFilter extends AbstractGatewayFilterFactory<BulkheadFilter.Config> {
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public BulkheadFilter(BulkheadRegistry bulkheadRegistry) {
+        super(Config.class);
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(config.getName() != null ? config.getName() : config.getRouteId());
+        return (exchange, chain) -> chain.filter(exchange).transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private String name;
+    }
+}
@@ -0,0 +1,35 @@
+package org.innowise.apigateway.config.filter;
+
+import org.innowise.apigateway.ratelimit.PrincipalOrIpKeyResolver;
+import org.innowise.apigateway.util.IdentityHeaders;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards the client address the gateway resolved for rate limiting as a signed {@code X-Client-Address}
+ * header, replacing any value the client sent. Behind the gateway every request reaches the upstream from
+ * the gateway's own address, so services that key on the client, like login throttling, read it from here.
+ */
+@Component
+public class ClientAddressFilter extends AbstractGatewayFilterFactory<Object> {
+    private final PrincipalOrIpKeyResolver principalOrIpKeyResolver;
+    private final IdentityHeaders identityHeaders;
+
+    public ClientAddressFilter(PrincipalOrIpKeyResolver principalOrIpKeyResolver, IdentityHeaders identityHeaders) {
+        this.principalOrIpKeyResolver = principalOrIpKeyResolver;
+        this.identityHeaders = identityHeaders;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            String address = principalOrIpKeyResolver.resolveAddress(exchange);
+            ServerHttpRequest request = exchange.getRequest().mutate()
+                    .headers(headers -> identityHeaders.writeClientAddress(headers, address))
+                    .build();
+            return chain.filter(exchange.mutate().request(request).build());
+        };
+    }
+}
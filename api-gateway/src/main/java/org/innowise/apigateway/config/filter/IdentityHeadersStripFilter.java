@@ -0,0 +1,36 @@
+package org.innowise.apigateway.config.filter;
+
+import org.innowise.apigateway.util.IdentityHeaders;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Removes client-supplied {@code X-User-*} and {@code X-Client-Address} headers on every route, so only identity
+ * written by {@code JwtFilter} after verification, and the address written by {@code ClientAddressFilter}, ever
+ * reach downstream services.
+ */
+@Component
+public class IdentityHeadersStripFilter implements GlobalFilter, Ordered {
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (IdentityHeaders.ALL.stream().noneMatch(request.getHeaders()::containsKey)) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest stripped = request.mutate()
+                .headers(IdentityHeaders::strip)
+                .build();
+        return chain.filter(exchange.mutate().request(stripped).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,183 @@
+package org.innowise.apigateway.config.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collapses identical concurrent GET requests (same route, path, query and credentials) into a single
+ * upstream call. The first request is forwarded, later ones wait for its response and receive a copy.
+ * Keying by the raw {@code Authorization} header keeps callers apart without depending on {@code JwtFilter},
+ * which runs after this filter; a rejected leader is simply fanned out as the same rejection.
+ * The leader's body streams through unbuffered while a copy of up to {@code maxBodySize} is kept for
+ * the followers; larger responses are not shared and the followers are forwarded on their own.
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+    private static final String REQUESTS_METRIC = "gateway.coalescing.requests";
+    private static final String ROUTE_TAG = "route";
+    private static final String ROLE_TAG = "role";
+    private static final String LEADER = "leader";
+    private static final String FOLLOWER = "follower";
+    private static final String KEY_DELIMITER = "\n";
+    private static final List<String> EXCLUDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION,
+            HttpHeaders.SET_COOKIE
+    );
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+        Counter leaders = counter(config.getRouteId(), LEADER);
+        Counter followers = counter(config.getRouteId(), FOLLOWER);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = getKey(request);
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, sink);
+
+            if (existing != null) {
+                followers.increment();
+                return existing.asMono()
+                        .flatMap(shared -> shared.writeTo(exchange.getResponse()))
+                        .onErrorResume(e -> chain.filter(exchange));
+            }
+
+            leaders.increment();
+            return lead(exchange, chain, sink, config.getMaxBodySize().toBytes())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        sink.tryEmitError(new IllegalStateException("Coalesced request completed without a response"));
+                    });
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain,
+                            Sinks.One<SharedResponse> sink, long maxBodySize) {
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (getHeaders().getContentLength() > maxBodySize) {
+                    sink.tryEmitError(new IllegalStateException("Response is too large to share"));
+                    return super.writeWith(body);
+                }
+
+                SharedResponse head = SharedResponse.of(getStatusCode(), getHeaders(), new byte[0]);
+                ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                AtomicBoolean shared = new AtomicBoolean(true);
+                Flux<DataBuffer> streamed = Flux.<DataBuffer>from(body)
+                        .doOnNext(buffer -> {
+                            if (!shared.get()) {
+                                return;
+                            }
+                            if (copy.size() + buffer.readableByteCount() > maxBodySize) {
+                                shared.set(false);
+                                sink.tryEmitError(new IllegalStateException("Response is too large to share"));
+                                return;
+                            }
+                            int readPosition = buffer.readPosition();
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            buffer.readPosition(readPosition);
+                            copy.writeBytes(bytes);
+                        })
+                        .doOnComplete(() -> sink.tryEmitValue(head.withBody(copy.toByteArray())));
+                return super.writeWith(streamed);
+            }
+
+            @Override
+            public Mono<Void> setComplete() {
+                sink.tryEmitValue(SharedResponse.of(getStatusCode(), getHeaders(), new byte[0]));
+                return super.setComplete();
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private static String getKey(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return request.getURI().getRawPath() + '?' + request.getURI().getRawQuery()
+                + KEY_DELIMITER + (authorization != null ? authorization : "");
+    }
+
+    private Counter counter(String routeId, String role) {
+        return Counter.builder(REQUESTS_METRIC)
+                .tag(ROUTE_TAG, String.valueOf(routeId))
+                .tag(ROLE_TAG, role)
+                .register(meterRegistry);
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        static SharedResponse of(HttpStatusCode status, HttpHeaders source, byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(source);
+            EXCLUDED_HEADERS.forEach(headers::remove);
+            return new SharedResponse(status != null ? status : HttpStatus.OK,
+                    HttpHeaders.readOnlyHttpHeaders(headers), body);
+        }
+
+        SharedResponse withBody(byte[] body) {
+            return new SharedResponse(status, headers, body);
+        }
+
+        Mono<Void> writeTo(ServerHttpResponse response) {
+            response.setStatusCode(status);
+            response.getHeaders().putAll(headers);
+            if (body.length == 0) {
+                return response.setComplete();
+            }
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private DataSize maxBodySize = DataSize.ofMegabytes(2);
+    }
+}
@@ -0,0 +1,310 @@
+package org.innowise.apigateway.config.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches successful GET responses of a public route in gateway memory. Fresh entries are served directly,
+ * entries within the stale-while-revalidate window are served while one background request refreshes
+ * them, and {@code If-None-Match} requests matching the entity tag are answered with 304. Within the
+ * stale-if-error window an expired entry still replaces a 5xx or fallback response from the route.
+ * An entry is only served to requests that match the headers named in its {@code Vary}; a different
+ * variant replaces it, and {@code Vary: *} responses are not cached.
+ * The filter runs ahead of the other route filters, so requests carrying credentials always bypass it.
+ * A body is held in memory only up to {@code maxBodySize}; a larger one, including a chunked body
+ * without {@code Content-Length}, streams through uncached once it passes the limit.
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+    private static final String CACHE_PREFIX = "gateway.response-cache.";
+    private static final String HIT = "HIT";
+    private static final String MISS = "MISS";
+    private static final String STALE = "STALE";
+    private static final String WILDCARD = "*";
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final String WEAK_PREFIX = "W/";
+    private static final String LB_SCHEME = "lb";
+    private static final String HTTP_SCHEME = "http";
+    private static final List<String> EXCLUDED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION,
+            HttpHeaders.SET_COOKIE,
+            ApplicationConstant.CACHE_STATUS_HEADER
+    );
+
+    private final WebClient webClient;
+    private final WebClient loadBalancedWebClient;
+    private final MeterRegistry meterRegistry;
+    private final Ticker ticker;
+
+    @Autowired
+    public ResponseCacheFilter(MeterRegistry meterRegistry, ReactorLoadBalancerExchangeFilterFunction loadBalancer) {
+        this(meterRegistry, loadBalancer, Ticker.systemTicker());
+    }
+
+    ResponseCacheFilter(MeterRegistry meterRegistry, ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                        Ticker ticker) {
+        super(Config.class);
+        this.webClient = WebClient.create();
+        this.loadBalancedWebClient = WebClient.builder().filter(loadBalancer).build();
+        this.meterRegistry = meterRegistry;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfterWrite(config.getTtl().plus(max(config.getStaleWhileRevalidate(), config.getStaleIfError())))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_PREFIX + config.getRouteId());
+        Set<String> revalidating = ConcurrentHashMap.newKeySet();
+        long staleIfErrorNanos = config.getTtl().plus(config.getStaleIfError()).toNanos();
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                return chain.filter(exchange);
+            }
+
+            String key = request.getURI().getRawPath() + '?' + request.getURI().getRawQuery();
+            CachedResponse entry = cache.getIfPresent(key);
+            CachedResponse cached = entry != null && entry.matches(request) ? entry : null;
+
+            if (cached != null) {
+                long age = ticker.read() - cached.createdAt();
+                if (age <= config.getTtl().toNanos()) {
+                    return writeCached(request, exchange.getResponse(), cached, HIT);
+                }
+                if (age <= config.getTtl().plus(config.getStaleWhileRevalidate()).toNanos()) {
+                    if (revalidating.add(key)) {
+                        revalidate(exchange, config, key, cached, cache, revalidating);
+                    }
+                    return writeCached(request, exchange.getResponse(), cached, STALE);
+                }
+            }
+
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().set(ApplicationConstant.CACHE_STATUS_HEADER, MISS);
+            ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(response) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (cached != null && getStatusCode() != null && getStatusCode().is5xxServerError()
+                            && ticker.read() - cached.createdAt() <= staleIfErrorNanos) {
+                        getHeaders().clear();
+                        return Flux.from(body)
+                                .doOnNext(DataBufferUtils::release)
+                                .then(writeCached(request, getDelegate(), cached, STALE));
+                    }
+                    long maxBodySize = config.getMaxBodySize().toBytes();
+                    if (getStatusCode() != HttpStatus.OK || getHeaders().getContentLength() > maxBodySize
+                            || getHeaders().getVary().contains(WILDCARD)) {
+                        return super.writeWith(body);
+                    }
+
+                    AtomicLong size = new AtomicLong();
+                    return Flux.<DataBuffer>from(body)
+                            .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBodySize)
+                            .switchOnFirst((first, parts) -> {
+                                Flux<DataBuffer> buffers = parts.flatMapIterable(buffered -> buffered);
+                                if (size.get() > maxBodySize) {
+                                    return super.writeWith(buffers);
+                                }
+                                return DataBufferUtils.join(buffers)
+                                        .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory().wrap(EMPTY_BODY)))
+                                        .flatMap(this::writeCacheable);
+                            })
+                            .then();
+                }
+
+                private Mono<Void> writeCacheable(DataBuffer buffer) {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+
+                    CachedResponse fresh = CachedResponse.of(getHeaders(), bytes, request.getHeaders(), ticker.read());
+                    cache.put(key, fresh);
+                    getHeaders().setETag(fresh.etag());
+
+                    if (isNotModified(request, fresh.etag())) {
+                        setStatusCode(HttpStatus.NOT_MODIFIED);
+                        getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                        return setComplete();
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+            };
+
+            return chain.filter(exchange.mutate().response(decorated).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> writeCached(ServerHttpRequest request, ServerHttpResponse response,
+                                   CachedResponse cached, String cacheStatus) {
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(ApplicationConstant.CACHE_STATUS_HEADER, cacheStatus);
+
+        if (isNotModified(request, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void revalidate(ServerWebExchange exchange, Config config, String key, CachedResponse cached,
+                            Cache<String, CachedResponse> cache, Set<String> revalidating) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            revalidating.remove(key);
+            return;
+        }
+
+        boolean loadBalanced = LB_SCHEME.equals(route.getUri().getScheme());
+        URI uri = UriComponentsBuilder.fromUri(route.getUri())
+                .scheme(loadBalanced ? HTTP_SCHEME : route.getUri().getScheme())
+                .replacePath(exchange.getRequest().getURI().getRawPath())
+                .replaceQuery(exchange.getRequest().getURI().getRawQuery())
+                .build(true)
+                .toUri();
+
+        (loadBalanced ? loadBalancedWebClient : webClient).get()
+                .uri(uri)
+                .headers(headers -> {
+                    headers.setAccept(exchange.getRequest().getHeaders().getAccept());
+                    headers.putAll(cached.varyValues());
+                })
+                .retrieve()
+                .toEntity(byte[].class)
+                .filter(entity -> entity.getStatusCode() == HttpStatus.OK && entity.getBody() != null)
+                .filter(entity -> !entity.getHeaders().getVary().contains(WILDCARD))
+                .filter(entity -> entity.getBody().length <= config.getMaxBodySize().toBytes())
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(
+                        entity -> cache.put(key, CachedResponse.of(entity.getHeaders(), entity.getBody(),
+                                exchange.getRequest().getHeaders(), ticker.read())),
+                        e -> log.warn("Background revalidation of {} failed: {}", uri, e.getMessage())
+                );
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    private static boolean isNotModified(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        for (String candidate : ifNoneMatch) {
+            if (WILDCARD.equals(candidate) || stripWeak(candidate).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+
+    private record CachedResponse(HttpHeaders headers, byte[] body, String etag, List<String> vary,
+                                  HttpHeaders varyValues, long createdAt) {
+        static CachedResponse of(HttpHeaders source, byte[] body, HttpHeaders requestHeaders, long createdAt) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(source);
+            EXCLUDED_HEADERS.forEach(headers::remove);
+
+            String etag = headers.getETag();
+            if (etag == null) {
+                etag = '"' + HexFormat.of().formatHex(sha256(body)) + '"';
+                headers.setETag(etag);
+            }
+
+            List<String> vary = List.copyOf(headers.getVary());
+            HttpHeaders varyValues = new HttpHeaders();
+            vary.forEach(name -> {
+                List<String> values = requestHeaders.get(name);
+                if (values != null) {
+                    varyValues.put(name, values);
+                }
+            });
+            return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), body, etag, vary,
+                    HttpHeaders.readOnlyHttpHeaders(varyValues), createdAt);
+        }
+
+        boolean matches(ServerHttpRequest request) {
+            for (String name : vary) {
+                if (!Objects.equals(varyValues.get(name), request.getHeaders().get(name))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static byte[] sha256(byte[] body) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(body);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Duration ttl = Duration.ofMinutes(1);
+        private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+        private Duration staleIfError = Duration.ZERO;
+        private long maxEntries = 1000;
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+    }
+}
@@ -0,0 +1,66 @@
+package org.innowise.apigateway.config.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.innowise.apigateway.metrics.RouteMetrics;
+import org.innowise.apigateway.metrics.RouteTiming;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records rate, errors and duration of every routed request per route, and splits the duration
+ * into gateway overhead and upstream time (see {@code UpstreamTimingFilter}). It wraps all other
+ * global and route filters, so rejections by JWT, rate limiter or bulkhead are measured as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private final RouteMetrics routeMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RouteTiming timing = new RouteTiming(route != null ? route.getId() : UNKNOWN_ROUTE, System.nanoTime());
+        exchange.getAttributes().put(ApplicationConstant.ROUTE_TIMING_ATTRIBUTE, timing);
+        String method = exchange.getRequest().getMethod().name();
+
+        return chain.filter(exchange)
+                .doOnSuccess(done -> record(timing, method, statusOf(exchange)))
+                .doOnError(error -> record(timing, method, statusOf(error)));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private void record(RouteTiming timing, String method, int status) {
+        long end = System.nanoTime();
+        routeMetrics.recordRequest(timing.getRouteId(), method, status, Outcome.forStatus(status).name(),
+                end - timing.getStartNanos());
+        routeMetrics.recordOverhead(timing.getRouteId(), timing.overheadNanos(end));
+    }
+
+    private static int statusOf(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : HttpStatus.OK.value();
+    }
+
+    private static int statusOf(Throwable error) {
+        return error instanceof ResponseStatusException e
+                ? e.getStatusCode().value()
+                : HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+}
@@ -0,0 +1,63 @@
+package org.innowise.apigateway.config.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.innowise.apigateway.metrics.RouteMetrics;
+import org.innowise.apigateway.metrics.RouteTiming;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Runs right before {@link NettyRoutingFilter} and times each call to the upstream until its
+ * response headers arrive, which it also marks on the exchange's {@link RouteTiming}.
+ * Forward routes such as circuit breaker fallbacks are not upstream calls.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+    private static final String HTTP = "http";
+    private static final String HTTPS = "https";
+
+    private final RouteMetrics routeMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RouteTiming timing = exchange.getAttribute(ApplicationConstant.ROUTE_TIMING_ATTRIBUTE);
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (timing == null || url == null || !(HTTP.equals(url.getScheme()) || HTTPS.equals(url.getScheme()))) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        timing.markDispatched(start);
+        return chain.filter(exchange)
+                .doOnSuccess(done -> record(timing, outcomeOf(exchange), start))
+                .doOnError(error -> record(timing, Outcome.UNKNOWN.name(), start));
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    private void record(RouteTiming timing, String outcome, long start) {
+        long end = System.nanoTime();
+        timing.markResponded(end);
+        routeMetrics.recordUpstream(timing.getRouteId(), outcome, end - start);
+    }
+
+    private static String outcomeOf(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? Outcome.forStatus(status.value()).name() : Outcome.UNKNOWN.name();
+    }
+}
@@ -0,0 +1,100 @@
+package org.innowise.apigateway.controller;
+
+import org.innowise.apigateway.model.dto.ApiError;
+import org.innowise.apigateway.model.dto.BatchRequest;
+import org.innowise.apigateway.service.BatchService;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.innowise.apigateway.util.JwtFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Combines several authenticated GET requests of one page into a single round trip.
+ * The JWT is checked once here by {@link JwtFilter#authenticate}, exactly as on a route; each sub-request
+ * is then answered by its regular route and reported with its own status, so one failing part does not
+ * fail the batch.
+ */
+@RestController
+@RequestMapping(ApplicationConstant.BATCH_PATH)
+public class BatchController {
+    private static final String API_PREFIX = "/api/";
+
+    private final BatchService batchService;
+    private final JwtFilter jwtFilter;
+    private final int maxRequests;
+
+    public BatchController(BatchService batchService,
+                           JwtFilter jwtFilter,
+                           @Value("${app.batch.max-requests:10}") int maxRequests) {
+        this.batchService = batchService;
+        this.jwtFilter = jwtFilter;
+        this.maxRequests = maxRequests;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> batch(@RequestBody BatchRequest batchRequest, ServerWebExchange exchange) {
+        if (jwtFilter.authenticate(exchange.getRequest()).isEmpty()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        if (!isValid(batchRequest)) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiError.of(
+                    ApplicationConstant.BATCH_INVALID.formatted(maxRequests),
+                    HttpStatus.BAD_REQUEST,
+                    exchange.getRequest().getPath().value(),
+                    ApplicationConstant.BATCH_INVALID_ERROR_CODE
+            )));
+        }
+
+        return batchService.execute(batchRequest, exchange)
+                .map(ResponseEntity::ok);
+    }
+
+    private boolean isValid(BatchRequest batchRequest) {
+        if (batchRequest.requests() == null || batchRequest.requests().isEmpty()
+                || batchRequest.requests().size() > maxRequests) {
+            return false;
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (BatchRequest.Part part : batchRequest.requests()) {
+            if (part == null || part.id() == null || part.id().isBlank() || !ids.add(part.id())
+                    || !isGet(part.method()) || !isRoutablePath(part.path())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isGet(String method) {
+        return method == null || HttpMethod.GET.name().equalsIgnoreCase(method);
+    }
+
+    private static boolean isRoutablePath(String path) {
+        if (path == null || !path.startsWith(API_PREFIX)) {
+            return false;
+        }
+        try {
+            URI uri = new URI(path);
+            String rawPath = uri.getRawPath();
+            return uri.getScheme() == null && uri.getRawAuthority() == null && rawPath != null
+                    && rawPath.equals(uri.normalize().getRawPath())
+                    && !rawPath.startsWith(ApplicationConstant.BATCH_PATH);
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+}
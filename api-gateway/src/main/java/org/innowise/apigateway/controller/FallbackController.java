@@ -0,0 +1,73 @@
+package org.innowise.apigateway.controller;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.apigateway.exception.ConcurrencyLimitExceededException;
+import org.innowise.apigateway.model.dto.ApiError;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Target of the {@code CircuitBreaker} route filters' {@code fallbackUri}. Answers immediately with an
+ * {@link ApiError} instead of letting the caller wait on an upstream that is open, saturated or too slow.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+    private final String retryAfter;
+
+    public FallbackController(@Value("${app.resilience.retry-after:5s}") Duration retryAfter) {
+        this.retryAfter = String.valueOf(retryAfter.toSeconds());
+    }
+
+    @RequestMapping("/{routeId}")
+    public ResponseEntity<ApiError> fallback(@PathVariable("routeId") String routeId, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        String path = getOriginalPath(exchange);
+        log.warn("Fallback for route {} at {}: {}", routeId, path, cause != null ? cause.toString() : "no cause");
+
+        if (isTimeout(cause)) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(ApiError.of(ApplicationConstant.UPSTREAM_TIMEOUT, HttpStatus.GATEWAY_TIMEOUT, path,
+                            ApplicationConstant.UPSTREAM_TIMEOUT_ERROR_CODE));
+        }
+
+        boolean busy = cause instanceof BulkheadFullException || cause instanceof ConcurrencyLimitExceededException;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .body(ApiError.of(
+                        busy ? ApplicationConstant.UPSTREAM_BUSY : ApplicationConstant.UPSTREAM_UNAVAILABLE,
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        path,
+                        busy ? ApplicationConstant.UPSTREAM_BUSY_ERROR_CODE
+                                : ApplicationConstant.UPSTREAM_UNAVAILABLE_ERROR_CODE
+                ));
+    }
+
+    private static boolean isTimeout(Throwable cause) {
+        return cause instanceof TimeoutException
+                || cause instanceof ResponseStatusException e && e.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT;
+    }
+
+    private static String getOriginalPath(ServerWebExchange exchange) {
+        ServerWebExchange original = exchange;
+        while (original instanceof ServerWebExchangeDecorator decorator) {
+            original = decorator.getDelegate();
+        }
+        return original.getRequest().getPath().value();
+    }
+}
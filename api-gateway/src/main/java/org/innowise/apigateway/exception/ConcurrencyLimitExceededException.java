@@ -0,0 +1,16 @@
+package org.innowise.apigateway.exception;
+
+import java.io.Serial;
+
+/**
+ * Raised when a route's adaptive concurrency limit is reached. It is thrown on every shed request,
+ * so, like {@code BulkheadFullException}, it carries no stack trace.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4001L;
+
+    public ConcurrencyLimitExceededException(String routeId, int limit) {
+        super("Concurrency limit " + limit + " of route " + routeId + " reached", null, false, false);
+    }
+}
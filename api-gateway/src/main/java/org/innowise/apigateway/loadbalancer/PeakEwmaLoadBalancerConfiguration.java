@@ -0,0 +1,33 @@
+package org.innowise.apigateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer context. Deliberately not a {@code @Configuration}: it is instantiated
+ * once per upstream by {@link LoadBalancerClientFactory}, never by the application context itself.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(Environment environment, UpstreamRegistry registry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return ServiceInstanceListSuppliers.from(serviceId,
+                registry.getInstances(serviceId).toArray(ServiceInstance[]::new));
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            ObjectProvider<ServiceInstanceListSupplier> suppliers,
+            UpstreamStats stats) {
+        return new PeakEwmaLoadBalancer(environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME),
+                suppliers, stats);
+    }
+}
@@ -0,0 +1,45 @@
+package org.innowise.apigateway.loadbalancer;
+
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One downstream service as configured under {@code app.http-client.upstreams.<name>}: the instances
+ * requests are balanced across, plus optional connection pool overrides applied to each of them.
+ */
+public record Upstream(List<URI> instances,
+                       Integer maxConnections,
+                       Integer pendingAcquireMaxCount,
+                       Duration pendingAcquireTimeout,
+                       Duration maxIdleTime,
+                       Duration maxLifeTime,
+                       Duration evictionInterval) {
+
+    public Upstream {
+        instances = instances != null ? List.copyOf(instances) : List.of();
+    }
+
+    public <S extends ConnectionProvider.ConnectionPoolSpec<S>> void applyTo(S spec) {
+        if (maxConnections != null) {
+            spec.maxConnections(maxConnections);
+        }
+        if (pendingAcquireMaxCount != null) {
+            spec.pendingAcquireMaxCount(pendingAcquireMaxCount);
+        }
+        if (pendingAcquireTimeout != null) {
+            spec.pendingAcquireTimeout(pendingAcquireTimeout);
+        }
+        if (maxIdleTime != null) {
+            spec.maxIdleTime(maxIdleTime);
+        }
+        if (maxLifeTime != null) {
+            spec.maxLifeTime(maxLifeTime);
+        }
+        if (evictionInterval != null) {
+            spec.evictInBackground(evictionInterval);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.innowise.apigateway.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static, config-driven view of the downstream services. Routes address them as {@code lb://<name>},
+ * and every configured instance URI becomes a {@link ServiceInstance} for the load balancer.
+ */
+@Slf4j
+@Component
+public class UpstreamRegistry {
+    private static final String UPSTREAMS_PROPERTY = "app.http-client.upstreams";
+    private static final String HTTPS_SCHEME = "https";
+    private static final int HTTPS_PORT = 443;
+    private static final int HTTP_PORT = 80;
+
+    private final Map<String, Upstream> upstreams;
+    private final Map<String, List<ServiceInstance>> instances = new HashMap<>();
+
+    public UpstreamRegistry(Environment environment) {
+        this.upstreams = Binder.get(environment)
+                .bind(UPSTREAMS_PROPERTY, Bindable.mapOf(String.class, Upstream.class))
+                .orElse(Map.of());
+
+        upstreams.forEach((serviceId, upstream) -> {
+            List<ServiceInstance> serviceInstances = new ArrayList<>();
+            for (URI uri : upstream.instances()) {
+                boolean secure = HTTPS_SCHEME.equals(uri.getScheme());
+                int port = uri.getPort() != -1 ? uri.getPort() : secure ? HTTPS_PORT : HTTP_PORT;
+                serviceInstances.add(new DefaultServiceInstance(uri.getHost() + ':' + port,
+                        serviceId, uri.getHost(), port, secure));
+            }
+            instances.put(serviceId, List.copyOf(serviceInstances));
+            log.info("Registered {} instance(s) for upstream {}", serviceInstances.size(), serviceId);
+        });
+    }
+
+    public Map<String, Upstream> getUpstreams() {
+        return upstreams;
+    }
+
+    public List<ServiceInstance> getInstances(String serviceId) {
+        return instances.getOrDefault(serviceId, List.of());
+    }
+}
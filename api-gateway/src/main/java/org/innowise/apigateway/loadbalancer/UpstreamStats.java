@@ -0,0 +1,165 @@
+package org.innowise.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passive per-instance statistics fed by the load balancer lifecycle of every routed request:
+ * in-flight count, a peak-sensitive moving average of latency, and consecutive failures.
+ * An instance failing {@code app.load-balancer.ejection.consecutive-failures} times in a row
+ * (connection errors or 5xx) is ejected from selection for {@code app.load-balancer.ejection.duration}.
+ */
+@Slf4j
+@Component
+public class UpstreamStats implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+    private static final String OUTSTANDING_METRIC = "gateway.lb.outstanding";
+    private static final String EJECTIONS_METRIC = "gateway.lb.ejections";
+    private static final String SERVICE_TAG = "service";
+    private static final String INSTANCE_TAG = "instance";
+    private static final long FAILURE_PENALTY_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long decayNanos;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+
+    public UpstreamStats(MeterRegistry meterRegistry,
+                         @Value("${app.load-balancer.ewma-decay:10s}") Duration decay,
+                         @Value("${app.load-balancer.ejection.consecutive-failures:5}") int failureThreshold,
+                         @Value("${app.load-balancer.ejection.duration:30s}") Duration ejectionDuration) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decay.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionDuration.toNanos();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        request.getContext().setRequestStartTime(System.nanoTime());
+        of(lbResponse.getServer()).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long latency = now - completionContext.getLoadBalancerRequest().getContext().getRequestStartTime();
+        ResponseData response = completionContext.getClientResponse();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStats stats = of(instance);
+        stats.outstanding.decrementAndGet();
+        if (stats.record(failed ? Math.max(latency, FAILURE_PENALTY_NANOS) : latency, failed, now)) {
+            counter(instance).increment();
+            log.warn("Ejected {} instance {} for {} ms after {} consecutive failures",
+                    instance.getServiceId(), instance.getInstanceId(), ejectionNanos / 1_000_000, failureThreshold);
+        }
+    }
+
+    /**
+     * Lower is better: expected latency scaled by the requests already waiting on the instance.
+     * The latency average keeps decaying while an instance is not picked, so a single slow
+     * response does not exclude it forever.
+     */
+    public double score(ServiceInstance instance, long now) {
+        InstanceStats stats = of(instance);
+        return (stats.decayedEwma(now) + 1) * (stats.outstanding.get() + 1);
+    }
+
+    public boolean isEjected(ServiceInstance instance, long now) {
+        return of(instance).ejectedUntil - now > 0;
+    }
+
+    private InstanceStats of(ServiceInstance instance) {
+        return instances.computeIfAbsent(key(instance), key -> {
+            InstanceStats stats = new InstanceStats();
+            Gauge.builder(OUTSTANDING_METRIC, stats.outstanding, AtomicInteger::get)
+                    .tag(SERVICE_TAG, instance.getServiceId())
+                    .tag(INSTANCE_TAG, instance.getInstanceId())
+                    .register(meterRegistry);
+            return stats;
+        });
+    }
+
+    private Counter counter(ServiceInstance instance) {
+        return Counter.builder(EJECTIONS_METRIC)
+                .tag(SERVICE_TAG, instance.getServiceId())
+                .tag(INSTANCE_TAG, instance.getInstanceId())
+                .register(meterRegistry);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + '/' + instance.getHost() + ':' + instance.getPort();
+    }
+
+    private final class InstanceStats {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile double ewmaNanos;
+        private volatile long lastUpdate;
+        private volatile long ejectedUntil;
+        private int consecutiveFailures;
+
+        double decayedEwma(long now) {
+            return ewmaNanos * weight(now);
+        }
+
+        synchronized boolean record(long latencyNanos, boolean failed, long now) {
+            double weight = weight(now);
+            ewmaNanos = latencyNanos > ewmaNanos ? latencyNanos : ewmaNanos * weight + latencyNanos * (1 - weight);
+            lastUpdate = now;
+
+            if (!failed) {
+                consecutiveFailures = 0;
+                return false;
+            }
+            if (++consecutiveFailures < failureThreshold) {
+                return false;
+            }
+            consecutiveFailures = 0;
+            ejectedUntil = now + ejectionNanos;
+            return true;
+        }
+
+        private double weight(long now) {
+            return Math.exp(-(double) Math.max(now - lastUpdate, 0) / decayNanos);
+        }
+    }
+}
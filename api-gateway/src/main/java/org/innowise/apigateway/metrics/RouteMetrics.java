@@ -0,0 +1,61 @@
+package org.innowise.apigateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route RED timers. Histogram buckets are not set here but through
+ * {@code management.metrics.distribution.slo.*}, so they can be tuned per environment.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetrics {
+    private static final String REQUESTS_METRIC = "gateway.route.requests";
+    private static final String UPSTREAM_METRIC = "gateway.route.upstream";
+    private static final String OVERHEAD_METRIC = "gateway.route.overhead";
+    private static final String ROUTE_TAG = "route";
+    private static final String METHOD_TAG = "method";
+    private static final String STATUS_TAG = "status";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Whole exchange as seen by the client, from route match until the response body is written.
+     */
+    public void recordRequest(String routeId, String method, int status, String outcome, long nanos) {
+        Timer.builder(REQUESTS_METRIC)
+                .tag(ROUTE_TAG, routeId)
+                .tag(METHOD_TAG, method)
+                .tag(STATUS_TAG, String.valueOf(status))
+                .tag(OUTCOME_TAG, outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One call to the upstream, from dispatch until its response headers arrive.
+     */
+    public void recordUpstream(String routeId, String outcome, long nanos) {
+        Timer.builder(UPSTREAM_METRIC)
+                .tag(ROUTE_TAG, routeId)
+                .tag(OUTCOME_TAG, outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time the gateway spent on the request before dispatching it upstream (JWT verification,
+     * rate limiting, route filters), or the whole exchange when it never reached the upstream.
+     */
+    public void recordOverhead(String routeId, long nanos) {
+        Timer.builder(OVERHEAD_METRIC)
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,38 @@
+package org.innowise.apigateway.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Timestamps of one routed exchange, shared between {@code RouteMetricsFilter}
+ * and {@code UpstreamTimingFilter} through an exchange attribute.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class RouteTiming {
+    private final String routeId;
+    private final long startNanos;
+    private volatile long dispatchNanos;
+    private volatile long respondedNanos;
+
+    /**
+     * Only the first dispatch counts, so retries do not add their backoff to the overhead.
+     */
+    public void markDispatched(long now) {
+        if (dispatchNanos == 0) {
+            dispatchNanos = now;
+        }
+    }
+
+    /**
+     * Every response counts, so a retried call ends with the response that is passed on.
+     */
+    public void markResponded(long now) {
+        respondedNanos = now;
+    }
+
+    public long overheadNanos(long end) {
+        long dispatched = dispatchNanos;
+        return (dispatched != 0 ? dispatched : end) - startNanos;
+    }
+}
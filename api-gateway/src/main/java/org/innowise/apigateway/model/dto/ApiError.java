@@ -0,0 +1,25 @@
+package org.innowise.apigateway.model.dto;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+public record ApiError(
+        String message,
+        int status,
+        String error,
+        String path,
+        LocalDateTime timestamp,
+        String errorCode
+) {
+    public static ApiError of(String message, HttpStatus status, String path, String errorCode) {
+        return new ApiError(
+                message,
+                status.value(),
+                status.getReasonPhrase(),
+                path,
+                LocalDateTime.now(),
+                errorCode
+        );
+    }
+}
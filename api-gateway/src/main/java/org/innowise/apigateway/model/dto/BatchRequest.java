@@ -0,0 +1,14 @@
+package org.innowise.apigateway.model.dto;
+
+import java.util.List;
+
+public record BatchRequest(
+        List<Part> requests
+) {
+    public record Part(
+            String id,
+            String method,
+            String path
+    ) {
+    }
+}
@@ -0,0 +1,16 @@
+package org.innowise.apigateway.model.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+public record BatchResponse(
+        List<Part> responses
+) {
+    public record Part(
+            String id,
+            int status,
+            JsonNode body
+    ) {
+    }
+}
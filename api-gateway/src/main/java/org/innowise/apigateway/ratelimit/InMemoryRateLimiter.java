@@ -0,0 +1,106 @@
+package org.innowise.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket rate limiter kept in gateway memory. Each route/key pair owns a lock-free bucket,
+ * and buckets live in a bounded cache that drops idle entries, which by then would be full again anyway.
+ * Route arguments use the {@code in-memory-rate-limiter} prefix and mirror {@link RedisRateLimiter.Config}.
+ */
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+    private static final String KEY_DELIMITER = ":";
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Config defaultConfig;
+    private final RateLimiterMetrics metrics;
+
+    public InMemoryRateLimiter(ConfigurationService configurationService,
+                               RateLimiterMetrics metrics,
+                               Config defaultConfig,
+                               long maxBuckets,
+                               Duration idleTimeout) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.metrics = metrics;
+        this.defaultConfig = defaultConfig;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        metrics.registerBuckets(buckets);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        TokenBucket bucket = buckets.get(routeId + KEY_DELIMITER + id, key -> new TokenBucket(config));
+        long remaining = bucket.tryConsume(config.getRequestedTokens());
+        boolean allowed = remaining >= 0;
+        metrics.record(routeId, allowed);
+
+        return Mono.just(new Response(allowed, Map.of(
+                RedisRateLimiter.REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                RedisRateLimiter.REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                RedisRateLimiter.BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens())
+        )));
+    }
+
+    static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        TokenBucket(Config config) {
+            this.capacity = config.getBurstCapacity();
+            this.tokensPerNano = (double) config.getReplenishRate() / TimeUnit.SECONDS.toNanos(1);
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        /**
+         * @return tokens left after consuming, or {@code -1} if the bucket did not hold enough tokens
+         */
+        long tryConsume(int requested) {
+            while (true) {
+                State current = state.get();
+                long now = System.nanoTime();
+                double available = Math.min(capacity, current.tokens() + (now - current.timestamp()) * tokensPerNano);
+                if (available < requested) {
+                    return -1;
+                }
+                if (state.compareAndSet(current, new State(available - requested, now))) {
+                    return (long) (available - requested);
+                }
+            }
+        }
+
+        private record State(double tokens, long timestamp) {
+        }
+    }
+
+    @Getter
+    @Setter
+    @Validated
+    public static class Config {
+        @Min(1)
+        private int replenishRate;
+        @Min(0)
+        private int burstCapacity = 1;
+        @Min(1)
+        private int requestedTokens = 1;
+    }
+}
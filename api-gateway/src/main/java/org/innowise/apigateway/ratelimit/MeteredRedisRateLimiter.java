@@ -0,0 +1,31 @@
+package org.innowise.apigateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Redis-backed limiter shared by all gateway instances, reporting the same metrics
+ * as {@link InMemoryRateLimiter}. Route arguments use the {@code redis-rate-limiter} prefix.
+ */
+public class MeteredRedisRateLimiter extends RedisRateLimiter {
+    private final RateLimiterMetrics metrics;
+
+    public MeteredRedisRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                   RedisScript<List<Long>> script,
+                                   ConfigurationService configurationService,
+                                   RateLimiterMetrics metrics) {
+        super(redisTemplate, script, configurationService);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return super.isAllowed(routeId, id)
+                .doOnNext(response -> metrics.record(routeId, response.isAllowed()));
+    }
+}
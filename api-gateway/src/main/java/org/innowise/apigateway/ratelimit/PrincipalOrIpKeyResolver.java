@@ -0,0 +1,56 @@
+package org.innowise.apigateway.ratelimit;
+
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Resolves the rate limit key to the verified JWT subject stored by {@code JwtFilter},
+ * falling back to the client address on public routes. Batch sub-requests arrive from this gateway over
+ * loopback with the caller's address appended to {@code X-Forwarded-For}, so loopback requests trust one
+ * more forwarded hop than direct ones and each caller keeps its own bucket.
+ */
+public class PrincipalOrIpKeyResolver implements KeyResolver {
+    private static final String USER_PREFIX = "user:";
+    private static final String IP_PREFIX = "ip:";
+    private static final String UNKNOWN = "unknown";
+
+    private final RemoteAddressResolver remoteAddressResolver;
+    private final RemoteAddressResolver loopbackAddressResolver;
+
+    public PrincipalOrIpKeyResolver(RemoteAddressResolver remoteAddressResolver,
+                                    RemoteAddressResolver loopbackAddressResolver) {
+        this.remoteAddressResolver = remoteAddressResolver;
+        this.loopbackAddressResolver = loopbackAddressResolver;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String principal = exchange.getAttribute(ApplicationConstant.PRINCIPAL_ATTRIBUTE);
+        if (principal != null) {
+            return Mono.just(USER_PREFIX + principal);
+        }
+
+        return Mono.just(IP_PREFIX + resolveAddress(exchange));
+    }
+
+    /**
+     * The client address as trusted for rate limiting, also forwarded by {@code ClientAddressFilter}.
+     */
+    public String resolveAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = isLoopback(exchange.getRequest().getRemoteAddress())
+                ? loopbackAddressResolver.resolve(exchange)
+                : remoteAddressResolver.resolve(exchange);
+        return address != null && address.getAddress() != null
+                ? address.getAddress().getHostAddress()
+                : UNKNOWN;
+    }
+
+    private static boolean isLoopback(InetSocketAddress address) {
+        return address != null && address.getAddress() != null && address.getAddress().isLoopbackAddress();
+    }
+}
@@ -0,0 +1,46 @@
+package org.innowise.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimiterMetrics {
+    private static final String REQUESTS_METRIC = "gateway.rate-limit.requests";
+    private static final String BUCKETS_METRIC = "gateway.rate-limit.buckets";
+    private static final String ROUTE_TAG = "route";
+    private static final String RESULT_TAG = "result";
+    private static final String ALLOWED = "allowed";
+    private static final String REJECTED = "rejected";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> allowed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    public void record(String routeId, boolean isAllowed) {
+        if (isAllowed) {
+            allowed.computeIfAbsent(routeId, id -> counter(id, ALLOWED)).increment();
+        } else {
+            rejected.computeIfAbsent(routeId, id -> counter(id, REJECTED)).increment();
+        }
+    }
+
+    public void registerBuckets(Cache<?, ?> buckets) {
+        Gauge.builder(BUCKETS_METRIC, buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String routeId, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .tag(ROUTE_TAG, routeId)
+                .tag(RESULT_TAG, result)
+                .register(meterRegistry);
+    }
+}
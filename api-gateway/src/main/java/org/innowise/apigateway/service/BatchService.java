@@ -0,0 +1,20 @@
+package org.innowise.apigateway.service;
+
+import org.innowise.apigateway.model.dto.BatchRequest;
+import org.innowise.apigateway.model.dto.BatchResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for executing several gateway requests on behalf of one client call.
+ */
+public interface BatchService {
+    /**
+     * Runs the sub-requests of a validated batch in parallel through the gateway routes.
+     *
+     * @param batchRequest the sub-requests to execute
+     * @param exchange     the batch exchange whose credentials and client address are passed on
+     * @return BatchResponse with one part per sub-request, in request order
+     */
+    Mono<BatchResponse> execute(BatchRequest batchRequest, ServerWebExchange exchange);
+}
@@ -0,0 +1,148 @@
+package org.innowise.apigateway.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.apigateway.model.dto.ApiError;
+import org.innowise.apigateway.model.dto.BatchRequest;
+import org.innowise.apigateway.model.dto.BatchResponse;
+import org.innowise.apigateway.service.BatchService;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Sends every sub-request back into this gateway over loopback, so it passes the same route filters
+ * (identity forwarding, rate limits, circuit breakers, caching) as a direct call. The token was verified
+ * by the caller, later checks of the same token by {@code JwtFilter} are answered from its cache.
+ * The target is the port the application server actually bound, taken from its
+ * {@link WebServerInitializedEvent}, on {@code server.address} unless that is a wildcard address.
+ */
+@Slf4j
+@Service
+public class BatchServiceImpl implements BatchService {
+    private static final String HTTP_SCHEME = "http";
+    private static final String LOOPBACK_HOST = "localhost";
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION,
+            HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_LANGUAGE
+    );
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final String host;
+    private final int maxConcurrency;
+
+    private volatile String baseUrl;
+
+    public BatchServiceImpl(WebClient.Builder webClientBuilder,
+                            ObjectMapper objectMapper,
+                            ServerProperties serverProperties,
+                            @Value("${app.batch.max-concurrency:4}") int maxConcurrency,
+                            @Value("${app.batch.max-body-size:2MB}") DataSize maxBodySize) {
+        this.webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxBodySize.toBytes()))
+                .build();
+        this.objectMapper = objectMapper;
+        this.host = host(serverProperties.getAddress());
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            baseUrl = UriComponentsBuilder.newInstance()
+                    .scheme(HTTP_SCHEME)
+                    .host(host)
+                    .port(event.getWebServer().getPort())
+                    .toUriString();
+        }
+    }
+
+    @Override
+    public Mono<BatchResponse> execute(BatchRequest batchRequest, ServerWebExchange exchange) {
+        HttpHeaders headers = forwardedHeaders(exchange.getRequest());
+        return Flux.fromIterable(batchRequest.requests())
+                .flatMapSequential(part -> send(part, headers), maxConcurrency)
+                .collectList()
+                .map(BatchResponse::new);
+    }
+
+    private Mono<BatchResponse.Part> send(BatchRequest.Part part, HttpHeaders headers) {
+        return webClient.get()
+                .uri(URI.create(baseUrl + part.path()))
+                .headers(target -> target.addAll(headers))
+                .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .map(body -> new BatchResponse.Part(part.id(), response.statusCode().value(),
+                                toJson(body, response.headers().contentType().orElse(null))))
+                        .defaultIfEmpty(new BatchResponse.Part(part.id(), response.statusCode().value(), null)))
+                .onErrorResume(e -> {
+                    log.warn("Batch sub-request {} to {} failed: {}", part.id(), part.path(), e.getMessage());
+                    ApiError error = ApiError.of(ApplicationConstant.BATCH_PART_FAILED, HttpStatus.BAD_GATEWAY,
+                            part.path(), ApplicationConstant.BATCH_PART_FAILED_ERROR_CODE);
+                    return Mono.just(new BatchResponse.Part(part.id(), HttpStatus.BAD_GATEWAY.value(),
+                            objectMapper.valueToTree(error)));
+                });
+    }
+
+    private JsonNode toJson(byte[] body, MediaType contentType) {
+        if (contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                log.debug("Batch sub-response is not valid JSON: {}", e.getMessage());
+            }
+        }
+        return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static String host(InetAddress address) {
+        if (address == null || address.isAnyLocalAddress()) {
+            return LOOPBACK_HOST;
+        }
+        return address instanceof Inet6Address ? '[' + address.getHostAddress() + ']' : address.getHostAddress();
+    }
+
+    private static HttpHeaders forwardedHeaders(ServerHttpRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        FORWARDED_HEADERS.forEach(name -> {
+            List<String> values = request.getHeaders().get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        });
+
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress != null && remoteAddress.getAddress() != null) {
+            String forwardedFor = request.getHeaders().getFirst(X_FORWARDED_FOR);
+            String client = remoteAddress.getAddress().getHostAddress();
+            headers.set(X_FORWARDED_FOR, forwardedFor != null ? forwardedFor + ", " + client : client);
+        }
+        return headers;
+    }
+}
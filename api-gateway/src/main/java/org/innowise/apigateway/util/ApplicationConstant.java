@@ -5,4 +5,33 @@ public class ApplicationConstant {
     }
 
     public static final String BEARER_PREFIX = "Bearer ";
+    public static final String JWT_SECRET_PROPERTY = "app.jwt.secret";
+    public static final String JWT_HS256_ENABLED_PROPERTY = "app.jwt.hs256.enabled";
+    public static final String OPEN_PATHS_PROPERTY = "app.security.open-paths";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String PRINCIPAL_ATTRIBUTE = "org.innowise.apigateway.principal";
+    public static final String ROUTE_TIMING_ATTRIBUTE = "org.innowise.apigateway.route-timing";
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String USER_EXPIRES_HEADER = "X-User-Expires";
+    public static final String USER_SIGNATURE_HEADER = "X-User-Signature";
+    public static final String CACHE_STATUS_HEADER = "X-Cache-Status";
+    public static final String CLIENT_ADDRESS_HEADER = "X-Client-Address";
+    public static final String CLIENT_ADDRESS_SIGNATURE_HEADER = "X-Client-Address-Signature";
+
+    public static final String UPSTREAM_BUSY = "Service is handling too many requests, try again later";
+    public static final String UPSTREAM_UNAVAILABLE = "Service is temporarily unavailable, try again later";
+    public static final String UPSTREAM_TIMEOUT = "Service did not respond in time";
+    public static final String UPSTREAM_BUSY_ERROR_CODE = "UPSTREAM_BUSY";
+    public static final String UPSTREAM_UNAVAILABLE_ERROR_CODE = "UPSTREAM_UNAVAILABLE";
+    public static final String UPSTREAM_TIMEOUT_ERROR_CODE = "UPSTREAM_TIMEOUT";
+
+    public static final String BATCH_PATH = "/api/v1/batch";
+    public static final String BATCH_INVALID = "Batch must contain 1 to %d GET requests with unique ids and /api/ paths";
+    public static final String BATCH_PART_FAILED = "Sub-request could not be completed";
+    public static final String BATCH_INVALID_ERROR_CODE = "BATCH_INVALID";
+    public static final String BATCH_PART_FAILED_ERROR_CODE = "BATCH_PART_FAILED";
 }
@@ -0,0 +1,72 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Claims;
+import org.innowise.common.util.HeaderSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes the verified caller identity as HMAC-signed {@code X-User-*} headers,
+ * so downstream services can trust them without parsing the JWT again.
+ * {@code X-User-Id} carries the token's {@code uid} claim, and is empty for tokens issued without one.
+ * The client address resolved by the gateway is signed the same way as {@code X-Client-Address}.
+ */
+@Component
+public class IdentityHeaders {
+    private static final String ROLES_DELIMITER = ",";
+
+    public static final List<String> ALL = List.of(
+            ApplicationConstant.USER_ID_HEADER,
+            ApplicationConstant.USER_EMAIL_HEADER,
+            ApplicationConstant.USER_ROLES_HEADER,
+            ApplicationConstant.USER_EXPIRES_HEADER,
+            ApplicationConstant.USER_SIGNATURE_HEADER,
+            ApplicationConstant.CLIENT_ADDRESS_HEADER,
+            ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER
+    );
+
+    private final HeaderSignature headerSignature;
+
+    public IdentityHeaders(@Value("${app.identity.secret}") String secret) {
+        this.headerSignature = new HeaderSignature(secret);
+    }
+
+    public static void strip(HttpHeaders headers) {
+        ALL.forEach(headers::remove);
+    }
+
+    public void write(HttpHeaders headers, Claims claims) {
+        Object userId = claims.get(ApplicationConstant.USER_ID_CLAIM);
+        String id = userId != null ? String.valueOf(userId) : "";
+        String email = claims.getSubject();
+        String roles = String.join(ROLES_DELIMITER, getRoles(claims));
+        Date expiration = claims.getExpiration();
+        String expires = expiration != null ? String.valueOf(expiration.getTime() / 1000) : "";
+
+        headers.set(ApplicationConstant.USER_ID_HEADER, id);
+        headers.set(ApplicationConstant.USER_EMAIL_HEADER, email);
+        headers.set(ApplicationConstant.USER_ROLES_HEADER, roles);
+        headers.set(ApplicationConstant.USER_EXPIRES_HEADER, expires);
+        headers.set(ApplicationConstant.USER_SIGNATURE_HEADER, headerSignature.sign(id, email, roles, expires));
+    }
+
+    public void writeClientAddress(HttpHeaders headers, String address) {
+        headers.set(ApplicationConstant.CLIENT_ADDRESS_HEADER, address);
+        headers.set(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER, headerSignature.sign(address));
+    }
+
+    private static List<String> getRoles(Claims claims) {
+        Object roles = claims.get(ApplicationConstant.ROLES_CLAIM);
+        if (roles instanceof Collection<?> collection) {
+            return collection.stream()
+                    .map(String::valueOf)
+                    .toList();
+        }
+        return List.of();
+    }
+}
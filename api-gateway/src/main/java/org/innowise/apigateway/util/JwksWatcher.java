@@ -0,0 +1,75 @@
+package org.innowise.apigateway.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.common.util.JsonWebKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Fetches the issuer's JSON Web Key Set from {@code app.jwt.jwks.url} through the load balancer at startup and
+ * every {@code app.jwt.jwks.refresh-interval} afterwards, and hands its keys to {@link JwtVerifier}. A failed
+ * fetch or an invalid set keeps the previous keys. Disabled while the URL is empty.
+ */
+@Slf4j
+@Component
+public class JwksWatcher {
+    private final JwtVerifier jwtVerifier;
+    private final WebClient webClient;
+    private final String url;
+    private final Duration refreshInterval;
+
+    private Disposable refreshing;
+
+    public JwksWatcher(JwtVerifier jwtVerifier,
+                       ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                       @Value("${app.jwt.jwks.url:}") String url,
+                       @Value("${app.jwt.jwks.refresh-interval:5m}") Duration refreshInterval) {
+        this.jwtVerifier = jwtVerifier;
+        this.webClient = WebClient.builder().filter(loadBalancer).build();
+        this.url = url;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        if (url.isBlank()) {
+            return;
+        }
+        refreshing = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> fetch()
+                        .onErrorResume(e -> {
+                            log.warn("Keeping previous JWKS, fetching {} failed: {}", url, e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshing != null) {
+            refreshing.dispose();
+        }
+    }
+
+    private Mono<Void> fetch() {
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(JsonWebKeys::parse)
+                .doOnNext(jwtVerifier::reloadPublicKeys)
+                .timeout(refreshInterval)
+                .then();
+    }
+}
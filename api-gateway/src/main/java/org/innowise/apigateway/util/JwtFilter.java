@@ -1,74 +1,103 @@
 package org.innowise.apigateway.util;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.innowise.common.util.RevocationList;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Component
 public class JwtFilter extends AbstractGatewayFilterFactory<JwtFilter.Config> {
-    @Value("${app.jwt.secret}")
-    private String secretKey;
+    private final JwtVerifier jwtVerifier;
+    private final IdentityHeaders identityHeaders;
+    private final OpenPathMatcher openPathMatcher;
+    private final RevocationList revocationList;
 
-    private static final List<String> OPEN_API_ENDPOINTS = List.of(
-            "/api/v1/auth/login",
-            "/api/v1/auth/register"
-    );
-
-    public JwtFilter() {
+    public JwtFilter(JwtVerifier jwtVerifier, IdentityHeaders identityHeaders, OpenPathMatcher openPathMatcher,
+                     RevocationList revocationList) {
         super(Config.class);
+        this.jwtVerifier = jwtVerifier;
+        this.identityHeaders = identityHeaders;
+        this.openPathMatcher = openPathMatcher;
+        this.revocationList = revocationList;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
-            String path = exchange.getRequest().getURI().getPath();
-
-            if (OPEN_API_ENDPOINTS.stream().anyMatch(path::startsWith)) {
+            if (openPathMatcher.matches(exchange.getRequest().getPath().pathWithinApplication())) {
                 return chain.filter(exchange);
             }
 
-            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            if (authHeader == null || !authHeader.startsWith(ApplicationConstant.BEARER_PREFIX)) {
-                log.warn("Missing or invalid Authorization header");
+            Optional<Claims> authenticated = authenticate(exchange.getRequest());
+            if (authenticated.isEmpty()) {
                 return onError(exchange, HttpStatus.UNAUTHORIZED);
             }
+            Claims claims = authenticated.get();
 
-            String token = authHeader.substring(ApplicationConstant.BEARER_PREFIX.length());
+            exchange.getAttributes().put(ApplicationConstant.PRINCIPAL_ATTRIBUTE, claims.getSubject());
 
-            try {
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)))
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
-                log.debug("Valid JWT for user: {}", claims.getSubject());
-            } catch (Exception e) {
-                log.warn("JWT validation failed: {}", e.getMessage());
-                return onError(exchange, HttpStatus.UNAUTHORIZED);
+            if (config.isForwardIdentity()) {
+                ServerHttpRequest request = exchange.getRequest().mutate()
+                        .headers(headers -> identityHeaders.write(headers, claims))
+                        .build();
+                return chain.filter(exchange.mutate().request(request).build());
             }
 
             return chain.filter(exchange);
         };
     }
 
+    /**
+     * Verifies the request's bearer token and checks that it has not been revoked.
+     *
+     * @param request incoming request
+     * @return the token's claims, or empty if the request must be rejected as unauthenticated
+     */
+    public Optional<Claims> authenticate(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(ApplicationConstant.BEARER_PREFIX)) {
+            log.warn("Missing or invalid Authorization header");
+            return Optional.empty();
+        }
+
+        String token = authHeader.substring(ApplicationConstant.BEARER_PREFIX.length());
+
+        Claims claims;
+        try {
+            claims = jwtVerifier.verify(token);
+            log.debug("Valid JWT for user: {}", claims.getSubject());
+        } catch (Exception e) {
+            log.warn("JWT validation failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (revocationList.isRevoked(claims.getId())) {
+            log.warn("Rejected revoked JWT {} of {}", claims.getId(), claims.getSubject());
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange, HttpStatus status) {
         exchange.getResponse().setStatusCode(status);
         return exchange.getResponse().setComplete();
     }
 
+    @Getter
+    @Setter
     public static class Config {
+        private boolean forwardIdentity;
     }
 }
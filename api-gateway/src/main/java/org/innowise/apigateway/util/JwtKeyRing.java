@@ -0,0 +1,105 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable set of verification keys: HMAC keys by {@code kid}, the default HMAC key for tokens issued
+ * without a {@code kid} header, and the issuer's EC public keys by {@code kid} for ES256 tokens. All keys and
+ * the parser are derived when the ring is built, so verifying a request only looks the key up by the token's
+ * algorithm and {@code kid}. A blank default secret disables HMAC tokens without a {@code kid}.
+ */
+final class JwtKeyRing {
+    private static final String ES256 = SignatureAlgorithm.ES256.getValue();
+
+    private final SecretKey defaultKey;
+    private final Map<String, SecretKey> keys;
+    private final Map<String, PublicKey> publicKeys;
+    private final JwtParser parser;
+
+    private JwtKeyRing(SecretKey defaultKey, Map<String, SecretKey> keys, Map<String, PublicKey> publicKeys) {
+        this.defaultKey = defaultKey;
+        this.keys = keys;
+        this.publicKeys = publicKeys;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header);
+                    }
+
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+                        return resolve(header);
+                    }
+                })
+                .build();
+    }
+
+    static JwtKeyRing of(String defaultSecret, Map<String, String> secrets, Map<String, PublicKey> publicKeys) {
+        Map<String, SecretKey> keys = new HashMap<>();
+        secrets.forEach((kid, secret) -> keys.put(kid, toKey(secret)));
+        return new JwtKeyRing(defaultSecret.isBlank() ? null : toKey(defaultSecret), Map.copyOf(keys),
+                Map.copyOf(publicKeys));
+    }
+
+    Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    int size() {
+        return keys.size() + publicKeys.size();
+    }
+
+    /**
+     * Whether every key of {@code previous} is still present unchanged, i.e. tokens verified
+     * with the previous ring remain valid and need not be verified again.
+     */
+    boolean retains(JwtKeyRing previous) {
+        return Objects.equals(defaultKey, previous.defaultKey)
+                && previous.keys.entrySet().stream().allMatch(entry -> entry.getValue().equals(keys.get(entry.getKey())))
+                && previous.publicKeys.entrySet().stream()
+                .allMatch(entry -> entry.getValue().equals(publicKeys.get(entry.getKey())));
+    }
+
+    private Key resolve(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (ES256.equals(header.getAlgorithm())) {
+            PublicKey key = kid != null ? publicKeys.get(kid) : null;
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+            }
+            return key;
+        }
+        if (kid == null) {
+            if (defaultKey == null) {
+                throw new UnsupportedJwtException("JWTs without a key id are not accepted");
+            }
+            return defaultKey;
+        }
+
+        SecretKey key = keys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
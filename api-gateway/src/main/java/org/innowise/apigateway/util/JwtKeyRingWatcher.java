@@ -0,0 +1,99 @@
+package org.innowise.apigateway.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Loads {@code kid=secret} pairs from {@code app.jwt.key-ring.file} into {@link JwtVerifier} and reloads
+ * them whenever anything in the file's directory changes, which also covers Kubernetes-style symlink swaps.
+ * A file that cannot be read or holds an invalid key is logged and the previous ring stays in use.
+ * To rotate, add the new key, switch the issuer to its {@code kid}, and drop the old key once its tokens expired.
+ * The keys are HMAC secrets, so they are only used while {@code app.jwt.hs256.enabled} is set.
+ */
+@Slf4j
+@Component
+public class JwtKeyRingWatcher {
+    private static final String THREAD_NAME = "jwt-key-ring-watcher";
+    private static final long SETTLE_MILLIS = 200;
+
+    private final JwtVerifier jwtVerifier;
+    private final Path file;
+
+    private WatchService watchService;
+
+    public JwtKeyRingWatcher(JwtVerifier jwtVerifier, @Value("${app.jwt.key-ring.file:}") String file) {
+        this.jwtVerifier = jwtVerifier;
+        this.file = file.isBlank() ? null : Path.of(file).toAbsolutePath();
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (file == null) {
+            return;
+        }
+
+        load();
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        Thread.ofPlatform().name(THREAD_NAME).daemon().start(this::watch);
+        log.info("Watching JWT key ring {}", file);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_MILLIS);
+                key.pollEvents();
+                try {
+                    load();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Keeping previous JWT key ring, reloading {} failed: {}", file, e.getMessage());
+                }
+                if (!key.reset()) {
+                    log.warn("Stopped watching JWT key ring {}, its directory is no longer accessible", file);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("JWT key ring watcher closed");
+        }
+    }
+
+    private void load() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+
+        Map<String, String> secrets = new HashMap<>();
+        properties.stringPropertyNames().forEach(kid -> secrets.put(kid, properties.getProperty(kid).trim()));
+        jwtVerifier.reloadKeys(secrets);
+    }
+}
@@ -0,0 +1,123 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Verifies tokens against the current {@link JwtKeyRing}: the issuer's public keys fetched by
+ * {@link JwksWatcher} for ES256 tokens and, only while {@code app.jwt.hs256.enabled} is set to migrate off
+ * shared secrets, the {@code app.jwt.secret} key for HS256 tokens without a {@code kid} and the keys of the ring
+ * file loaded by {@link JwtKeyRingWatcher} by {@code kid}. The ring is rebuilt off the request path whenever
+ * any source changes, and swapped atomically.
+ * The {@code app.jwt.secret} key is rotated by {@code POST /actuator/refresh}: the context refresher re-reads the
+ * environment, including the {@code .env} import, and publishes an {@link EnvironmentChangeEvent} for the keys
+ * that changed. A secret passed as an environment variable cannot change in a running process, so such
+ * deployments rotate through the ring file instead.
+ * Successfully verified tokens are remembered in {@link VerifiedTokenCache} until they expire, or until
+ * a rotation removes or replaces a key they may have been signed with, which starts a new cache generation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtVerifier {
+    private final Environment environment;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private volatile Version current;
+    private boolean hs256Enabled;
+    private String secret;
+    private Map<String, String> secrets = Map.of();
+    private Map<String, PublicKey> publicKeys = Map.of();
+
+    @PostConstruct
+    void init() {
+        hs256Enabled = environment.getProperty(ApplicationConstant.JWT_HS256_ENABLED_PROPERTY, Boolean.class, false);
+        reload(hs256Enabled ? environment.getRequiredProperty(ApplicationConstant.JWT_SECRET_PROPERTY) : "");
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().contains(ApplicationConstant.JWT_SECRET_PROPERTY)) {
+            reloadSecret();
+        }
+    }
+
+    /**
+     * Re-reads {@code app.jwt.secret} from the environment, leaving the other keys as they are. Ignored unless
+     * HS256 is enabled.
+     */
+    public void reloadSecret() {
+        if (hs256Enabled) {
+            reload(environment.getRequiredProperty(ApplicationConstant.JWT_SECRET_PROPERTY));
+        }
+    }
+
+    public Claims verify(String token) {
+        Version version = current;
+        return verifiedTokenCache.get(token, version.generation(), version.keyRing()::parse);
+    }
+
+    /**
+     * Replaces the {@code kid}-addressed keys, leaving the default key as it is. Ignored unless HS256 is enabled.
+     */
+    public synchronized void reloadKeys(Map<String, String> secrets) {
+        if (!hs256Enabled) {
+            log.warn("Ignoring {} HMAC key ids, {} is not set", secrets.size(),
+                    ApplicationConstant.JWT_HS256_ENABLED_PROPERTY);
+            return;
+        }
+        rebuild(secret, secrets, publicKeys);
+    }
+
+    /**
+     * Replaces the ES256 public keys, leaving the HMAC keys as they are.
+     */
+    public synchronized void reloadPublicKeys(Map<String, PublicKey> publicKeys) {
+        rebuild(secret, secrets, publicKeys);
+    }
+
+    synchronized void reload(String secret) {
+        rebuild(secret, secrets, publicKeys);
+    }
+
+    private void rebuild(String secret, Map<String, String> secrets, Map<String, PublicKey> publicKeys) {
+        Version previous = current;
+        if (previous != null && secret.equals(this.secret) && secrets.equals(this.secrets)
+                && publicKeys.equals(this.publicKeys)) {
+            return;
+        }
+
+        JwtKeyRing next = JwtKeyRing.of(secret, secrets, publicKeys);
+        if (previous == null) {
+            current = new Version(next, 0);
+        } else if (next.retains(previous.keyRing())) {
+            current = new Version(next, previous.generation());
+        } else {
+            current = new Version(next, previous.generation() + 1);
+            verifiedTokenCache.invalidateAll();
+        }
+        this.secret = secret;
+        this.secrets = Map.copyOf(secrets);
+        this.publicKeys = Map.copyOf(publicKeys);
+
+        if (previous != null) {
+            log.info("JWT key ring reloaded with {} key ids", next.size());
+        }
+    }
+
+    /**
+     * The ring and its cache generation, swapped together so that a request never pairs the previous ring with
+     * the generation of the next one. The generation only advances when a key was removed or replaced.
+     */
+    private record Version(JwtKeyRing keyRing, long generation) {
+    }
+}
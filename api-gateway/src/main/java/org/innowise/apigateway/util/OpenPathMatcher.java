@@ -0,0 +1,63 @@
+package org.innowise.apigateway.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Public paths that skip JWT verification, read from {@code app.security.open-paths}.
+ * Patterns are compiled once and recompiled only when the property changes, so a request
+ * is matched against the already-parsed {@link PathContainer} without further allocation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenPathMatcher {
+    private final Environment environment;
+
+    private volatile PathPattern[] patterns = new PathPattern[0];
+
+    @PostConstruct
+    void init() {
+        compile();
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(ApplicationConstant.OPEN_PATHS_PROPERTY))) {
+            compile();
+        }
+    }
+
+    public boolean matches(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void compile() {
+        List<String> openPaths = Binder.get(environment)
+                .bind(ApplicationConstant.OPEN_PATHS_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of());
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        patterns = openPaths.stream()
+                .map(parser::parse)
+                .toArray(PathPattern[]::new);
+        log.info("Compiled {} open path patterns", patterns.length);
+    }
+}
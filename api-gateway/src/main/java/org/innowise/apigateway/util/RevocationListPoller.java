@@ -0,0 +1,99 @@
+package org.innowise.apigateway.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.common.util.RevocationList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Keeps the gateway's {@link RevocationList} current. Polls {@code app.revocation.url} through the load
+ * balancer with the entity tag of the snapshot it holds and swaps in each new snapshot atomically. A failed poll
+ * or an unreadable snapshot keeps the previous one.
+ */
+@Slf4j
+@Component
+public class RevocationListPoller {
+    private final RevocationList revocationList;
+    private final WebClient webClient;
+    private final boolean enabled;
+    private final String url;
+    private final Duration pollInterval;
+
+    private Disposable polling;
+
+    public RevocationListPoller(RevocationList revocationList,
+                                ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                @Value("${app.revocation.enabled:true}") boolean enabled,
+                                @Value("${app.revocation.url:http://auth-service/api/v1/auth/revocations}") String url,
+                                @Value("${app.revocation.poll-interval:10s}") Duration pollInterval,
+                                @Value("${app.revocation.max-snapshot-size:16MB}") DataSize maxSnapshotSize) {
+        this.revocationList = revocationList;
+        this.webClient = WebClient.builder()
+                .filter(loadBalancer)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxSnapshotSize.toBytes()))
+                .build();
+        this.enabled = enabled;
+        this.url = url;
+        this.pollInterval = pollInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        polling = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll()
+                        .onErrorResume(e -> {
+                            log.warn("Keeping previous revocation snapshot, polling {} failed: {}", url, e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    Mono<Void> poll() {
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> {
+                    String etag = revocationList.getEtag();
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                        return response.releaseBody();
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createError();
+                    }
+                    String tag = response.headers().asHttpHeaders().getETag();
+                    return response.bodyToMono(byte[].class)
+                            .doOnNext(bytes -> {
+                                revocationList.update(bytes, tag);
+                                log.debug("Loaded revocation snapshot {}", tag);
+                            })
+                            .then();
+                })
+                .timeout(pollInterval);
+    }
+}
@@ -0,0 +1,87 @@
+package org.innowise.apigateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final int ROUNDS = 50;
+
+    @Test
+    void tryAcquire_AtLimit_ShouldReject() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_WithSteadyLatencyAtFullUtilization_ShouldRaiseLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 5, 100);
+
+        runSaturated(limiter, FAST, ROUNDS);
+
+        assertTrue(limiter.getLimit() > 10);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_WhenLatencyRises_ShouldLowerLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 5, 100);
+        runSaturated(limiter, FAST, ROUNDS);
+        int before = limiter.getLimit();
+
+        runSaturated(limiter, SLOW, 1);
+
+        assertTrue(limiter.getLimit() < before);
+    }
+
+    @Test
+    void onSuccess_WhenUnderutilized_ShouldKeepLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldBackOffButNotBelowMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 1.5, 0.2, 0.9, 600);
+    }
+
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+}
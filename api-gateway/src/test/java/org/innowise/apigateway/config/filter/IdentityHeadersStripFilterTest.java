@@ -0,0 +1,63 @@
+package org.innowise.apigateway.config.filter;
+
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class IdentityHeadersStripFilterTest {
+    private final IdentityHeadersStripFilter filter = new IdentityHeadersStripFilter();
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @Test
+    void filter_WithForgedIdentityAndClientAddress_ShouldStripThem() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users/me")
+                .header(ApplicationConstant.USER_ID_HEADER, "1")
+                .header(ApplicationConstant.USER_SIGNATURE_HEADER, "forged")
+                .header(ApplicationConstant.CLIENT_ADDRESS_HEADER, "10.0.0.1")
+                .header(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER, "forged")
+                .header(HttpHeaders.ACCEPT, "application/json"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertFalse(headers.containsKey(ApplicationConstant.USER_ID_HEADER));
+        assertFalse(headers.containsKey(ApplicationConstant.USER_SIGNATURE_HEADER));
+        assertFalse(headers.containsKey(ApplicationConstant.CLIENT_ADDRESS_HEADER));
+        assertFalse(headers.containsKey(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER));
+        assertEquals("application/json", headers.getFirst(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void filter_WithOnlyForgedClientAddress_ShouldStripIt() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/auth/login")
+                .header(ApplicationConstant.CLIENT_ADDRESS_HEADER, "10.0.0.1"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(forwarded.get().getRequest().getHeaders().containsKey(ApplicationConstant.CLIENT_ADDRESS_HEADER));
+    }
+
+    @Test
+    void filter_WithoutIdentityHeaders_ShouldForwardExchangeUnchanged() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users/me"));
+
+        filter.filter(exchange, chain).block();
+
+        assertSame(exchange, forwarded.get());
+    }
+}
@@ -0,0 +1,132 @@
+package org.innowise.apigateway.config.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescingFilterTest {
+    private static final String PATH = "/api/v1/orders?page=0";
+    private static final String BODY = "[{\"id\":1}]";
+    private static final int FOLLOWERS = 4;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> release = Sinks.empty();
+    private final List<CompletableFuture<Void>> results = new ArrayList<>();
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RequestCoalescingFilter.Config config = new RequestCoalescingFilter.Config();
+        config.setRouteId("orders");
+        config.setMaxBodySize(DataSize.ofBytes(32));
+        filter = new RequestCoalescingFilter(new SimpleMeterRegistry()).apply(config);
+    }
+
+    @Test
+    void filter_ConcurrentIdenticalGets_ShouldShareOneUpstreamCall() {
+        GatewayFilterChain upstream = exchange -> respond(exchange, BODY);
+
+        List<MockServerWebExchange> exchanges = sendConcurrently(FOLLOWERS + 1, upstream, "Bearer token");
+
+        assertEquals(1, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+        }
+    }
+
+    @Test
+    void filter_WhenLeaderFails_ShouldForwardFollowersOnTheirOwn() {
+        GatewayFilterChain upstream = exchange -> upstreamCalls.get() == 0
+                ? release.asMono().then(Mono.fromRunnable(upstreamCalls::incrementAndGet))
+                        .then(Mono.error(new IllegalStateException("upstream reset")))
+                : respond(exchange, BODY);
+
+        List<MockServerWebExchange> exchanges = sendConcurrently(FOLLOWERS + 1, upstream, "Bearer token");
+
+        assertTrue(results.get(0).isCompletedExceptionally());
+        assertEquals(FOLLOWERS + 1, upstreamCalls.get());
+        for (MockServerWebExchange follower : exchanges.subList(1, exchanges.size())) {
+            assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+        }
+    }
+
+    @Test
+    void filter_WhenBodyExceedsMaxBodySize_ShouldForwardFollowersOnTheirOwn() {
+        String large = "x".repeat(64);
+        GatewayFilterChain upstream = exchange -> respond(exchange, large);
+
+        List<MockServerWebExchange> exchanges = sendConcurrently(FOLLOWERS + 1, upstream, "Bearer token");
+
+        assertEquals(FOLLOWERS + 1, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(large, exchange.getResponse().getBodyAsString().block());
+        }
+    }
+
+    @Test
+    void filter_WithDifferentAuthorization_ShouldNotShareTheResponse() {
+        GatewayFilterChain upstream = exchange ->
+                respond(exchange, exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+
+        MockServerWebExchange alice = MockServerWebExchange.from(
+                MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+        MockServerWebExchange bob = MockServerWebExchange.from(
+                MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+        CompletableFuture<Void> first = filter.filter(alice, upstream).toFuture();
+        CompletableFuture<Void> second = filter.filter(bob, upstream).toFuture();
+        release.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("Bearer alice", alice.getResponse().getBodyAsString().block());
+        assertEquals("Bearer bob", bob.getResponse().getBodyAsString().block());
+    }
+
+    /**
+     * Starts every request while the upstream is held back, so the first one leads and the rest follow it.
+     */
+    private List<MockServerWebExchange> sendConcurrently(int count, GatewayFilterChain upstream, String authorization) {
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, authorization));
+            exchanges.add(exchange);
+            results.add(filter.filter(exchange, upstream).toFuture());
+        }
+        release.tryEmitEmpty();
+        results.forEach(result -> result.exceptionally(e -> null).join());
+        return exchanges;
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange, String body) {
+        return release.asMono().then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Mono.just(
+                    DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
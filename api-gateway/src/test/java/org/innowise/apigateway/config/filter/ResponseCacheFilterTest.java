@@ -0,0 +1,215 @@
+package org.innowise.apigateway.config.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheFilterTest {
+    private static final String PATH = "/api/v1/items?page=0";
+    private static final String BODY = "[{\"id\":1}]";
+
+    private final AtomicLong now = new AtomicLong(1);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private ResponseCacheFilter.Config config;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        config = new ResponseCacheFilter.Config();
+        config.setRouteId("items");
+        config.setTtl(Duration.ofSeconds(60));
+        config.setStaleWhileRevalidate(Duration.ofSeconds(30));
+        config.setStaleIfError(Duration.ofSeconds(120));
+        config.setMaxBodySize(DataSize.ofBytes(64));
+        filter = new ResponseCacheFilter(new SimpleMeterRegistry(),
+                mock(ReactorLoadBalancerExchangeFilterFunction.class), now::get).apply(config);
+    }
+
+    @Test
+    void filter_FirstRequestMissesAndSecondHits() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get(PATH), ok(BODY));
+        MockServerWebExchange second = send(MockServerHttpRequest.get(PATH), ok(BODY));
+
+        assertEquals("MISS", cacheStatus(first));
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals("HIT", cacheStatus(second));
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_WithAuthorization_ShouldBypassTheCache() {
+        send(MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer token"), ok(BODY));
+        MockServerWebExchange second = send(
+                MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer token"), ok(BODY));
+
+        assertFalse(second.getResponse().getHeaders().containsKey(ApplicationConstant.CACHE_STATUS_HEADER));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_WithMatchingIfNoneMatch_ShouldAnswerNotModified() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get(PATH), ok(BODY));
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange hit = send(MockServerHttpRequest.get(PATH).ifNoneMatch(etag), ok(BODY));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, hit.getResponse().getStatusCode());
+        assertEquals("", hit.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_OnMissWithMatchingIfNoneMatch_ShouldAnswerNotModified() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get(PATH), ok(BODY));
+        String etag = first.getResponse().getHeaders().getETag();
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        MockServerWebExchange miss = send(MockServerHttpRequest.get(PATH).ifNoneMatch(etag), ok(BODY));
+
+        assertEquals("MISS", cacheStatus(miss));
+        assertEquals(HttpStatus.NOT_MODIFIED, miss.getResponse().getStatusCode());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_WithinStaleWhileRevalidate_ShouldServeStaleWithoutWaitingForUpstream() {
+        send(MockServerHttpRequest.get(PATH), ok(BODY));
+        now.addAndGet(Duration.ofSeconds(75).toNanos());
+
+        MockServerWebExchange stale = send(MockServerHttpRequest.get(PATH), ok("changed"));
+
+        assertEquals("STALE", cacheStatus(stale));
+        assertEquals(BODY, stale.getResponse().getBodyAsString().block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_WithinStaleIfError_ShouldReplaceTheServerError() {
+        send(MockServerHttpRequest.get(PATH), ok(BODY));
+        now.addAndGet(Duration.ofSeconds(150).toNanos());
+
+        MockServerWebExchange failed = send(MockServerHttpRequest.get(PATH),
+                respond(HttpStatus.SERVICE_UNAVAILABLE, new HttpHeaders(), "down"));
+
+        assertEquals(HttpStatus.OK, failed.getResponse().getStatusCode());
+        assertEquals("STALE", cacheStatus(failed));
+        assertEquals(BODY, failed.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_AfterStaleIfError_ShouldPassTheServerErrorThrough() {
+        config.setStaleIfError(Duration.ofSeconds(20));
+        config.setStaleWhileRevalidate(Duration.ZERO);
+        filter = new ResponseCacheFilter(new SimpleMeterRegistry(),
+                mock(ReactorLoadBalancerExchangeFilterFunction.class), now::get).apply(config);
+        send(MockServerHttpRequest.get(PATH), ok(BODY));
+        now.addAndGet(Duration.ofSeconds(100).toNanos());
+
+        MockServerWebExchange failed = send(MockServerHttpRequest.get(PATH),
+                respond(HttpStatus.SERVICE_UNAVAILABLE, new HttpHeaders(), "down"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, failed.getResponse().getStatusCode());
+        assertEquals("down", failed.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_WithChunkedBodyOverMaxBodySize_ShouldStreamItUncached() {
+        String[] chunks = {"a".repeat(40), "b".repeat(40), "c".repeat(40)};
+        MockServerWebExchange first = send(MockServerHttpRequest.get(PATH),
+                respond(HttpStatus.OK, new HttpHeaders(), chunks));
+        MockServerWebExchange second = send(MockServerHttpRequest.get(PATH),
+                respond(HttpStatus.OK, new HttpHeaders(), chunks));
+
+        assertEquals(String.join("", chunks), first.getResponse().getBodyAsString().block());
+        assertEquals("MISS", cacheStatus(second));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_WithVary_ShouldOnlyServeTheMatchingVariant() {
+        HttpHeaders vary = new HttpHeaders();
+        vary.setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+
+        send(MockServerHttpRequest.get(PATH).header(HttpHeaders.ACCEPT_LANGUAGE, "en"),
+                respond(HttpStatus.OK, vary, "english"));
+        MockServerWebExchange other = send(MockServerHttpRequest.get(PATH).header(HttpHeaders.ACCEPT_LANGUAGE, "de"),
+                respond(HttpStatus.OK, vary, "deutsch"));
+        MockServerWebExchange same = send(MockServerHttpRequest.get(PATH).header(HttpHeaders.ACCEPT_LANGUAGE, "de"),
+                respond(HttpStatus.OK, vary, "deutsch"));
+
+        assertEquals("MISS", cacheStatus(other));
+        assertEquals("deutsch", other.getResponse().getBodyAsString().block());
+        assertEquals("HIT", cacheStatus(same));
+        assertEquals("deutsch", same.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_WithVaryWildcard_ShouldNotCache() {
+        HttpHeaders vary = new HttpHeaders();
+        vary.setVary(List.of("*"));
+
+        send(MockServerHttpRequest.get(PATH), respond(HttpStatus.OK, vary, BODY));
+        MockServerWebExchange second = send(MockServerHttpRequest.get(PATH), respond(HttpStatus.OK, vary, BODY));
+
+        assertEquals("MISS", cacheStatus(second));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_WithEmptyBody_ShouldWriteAndCacheIt() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get(PATH), respond(HttpStatus.OK, new HttpHeaders()));
+        MockServerWebExchange second = send(MockServerHttpRequest.get(PATH), respond(HttpStatus.OK, new HttpHeaders()));
+
+        assertEquals(HttpStatus.OK, first.getResponse().getStatusCode());
+        assertEquals("", first.getResponse().getBodyAsString().block());
+        assertEquals("HIT", cacheStatus(second));
+        assertEquals(0, second.getResponse().getHeaders().getContentLength());
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request, GatewayFilterChain upstream) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, upstream).block();
+        return exchange;
+    }
+
+    private GatewayFilterChain ok(String body) {
+        return respond(HttpStatus.OK, new HttpHeaders(), body);
+    }
+
+    private GatewayFilterChain respond(HttpStatus status, HttpHeaders headers, String... chunks) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().putAll(headers);
+            return response.writeWith(Flux.fromArray(chunks)
+                    .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static String cacheStatus(MockServerWebExchange exchange) {
+        return exchange.getResponse().getHeaders().getFirst(ApplicationConstant.CACHE_STATUS_HEADER);
+    }
+}
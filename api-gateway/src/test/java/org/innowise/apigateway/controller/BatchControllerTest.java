@@ -0,0 +1,112 @@
+package org.innowise.apigateway.controller;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.innowise.apigateway.model.dto.BatchRequest;
+import org.innowise.apigateway.model.dto.BatchResponse;
+import org.innowise.apigateway.service.BatchService;
+import org.innowise.apigateway.util.JwtFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchControllerTest {
+    private static final int MAX_REQUESTS = 3;
+
+    private final BatchService batchService = mock(BatchService.class);
+    private final JwtFilter jwtFilter = mock(JwtFilter.class);
+    private final BatchController controller = new BatchController(batchService, jwtFilter, MAX_REQUESTS);
+
+    @BeforeEach
+    void setUp() {
+        Claims claims = new DefaultClaims();
+        claims.setSubject("user@example.com");
+        when(jwtFilter.authenticate(any())).thenReturn(Optional.of(claims));
+        when(batchService.execute(any(), any())).thenReturn(Mono.just(new BatchResponse(List.of())));
+    }
+
+    @Test
+    void batch_WithValidGets_ShouldExecuteThem() {
+        assertEquals(HttpStatus.OK, status(
+                part("user", "GET", "/api/v1/users/me"),
+                part("orders", null, "/api/v1/orders?page=0")));
+    }
+
+    @Test
+    void batch_WhenNotAuthenticated_ShouldAnswerUnauthorized() {
+        when(jwtFilter.authenticate(any())).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, status(part("user", "GET", "/api/v1/users/me")));
+        verify(batchService, never()).execute(any(), any());
+    }
+
+    @Test
+    void batch_WithNonGetMethod_ShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(part("user", "DELETE", "/api/v1/users/1")));
+    }
+
+    @Test
+    void batch_WithDuplicateIds_ShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(
+                part("user", "GET", "/api/v1/users/me"),
+                part("user", "GET", "/api/v1/cards")));
+    }
+
+    @Test
+    void batch_WithBlankId_ShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(part(" ", "GET", "/api/v1/users/me")));
+    }
+
+    @Test
+    void batch_WithPathOutsideApi_ShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(part("health", "GET", "/actuator/health")));
+        assertEquals(HttpStatus.BAD_REQUEST, status(part("absolute", "GET", "http://evil.example/api/v1/users")));
+    }
+
+    @Test
+    void batch_WithNonNormalizedPath_ShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(part("escape", "GET", "/api/../actuator/env")));
+        assertEquals(HttpStatus.BAD_REQUEST, status(part("dot", "GET", "/api/v1/./users/me")));
+    }
+
+    @Test
+    void batch_TargetingTheBatchEndpoint_ShouldBeRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, status(part("nested", "GET", "/api/v1/batch")));
+    }
+
+    @Test
+    void batch_WithTooManyOrNoParts_ShouldBeRejected() {
+        BatchRequest.Part[] parts = IntStream.rangeClosed(0, MAX_REQUESTS)
+                .mapToObj(i -> part("part" + i, "GET", "/api/v1/users/" + i))
+                .toArray(BatchRequest.Part[]::new);
+
+        assertEquals(HttpStatus.BAD_REQUEST, status(parts));
+        assertEquals(HttpStatus.BAD_REQUEST, status());
+        verify(batchService, never()).execute(any(), any());
+    }
+
+    private HttpStatus status(BatchRequest.Part... parts) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/batch"));
+        ResponseEntity<?> response = controller.batch(new BatchRequest(List.of(parts)), exchange).block();
+        return HttpStatus.valueOf(response.getStatusCode().value());
+    }
+
+    private static BatchRequest.Part part(String id, String method, String path) {
+        return new BatchRequest.Part(id, method, path);
+    }
+}
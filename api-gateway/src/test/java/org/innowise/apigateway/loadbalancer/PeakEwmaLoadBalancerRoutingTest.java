@@ -0,0 +1,147 @@
+package org.innowise.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes real requests through {@code lb://} to local upstream servers, so instance selection is driven by
+ * the latencies and failures {@link UpstreamStats} observes rather than by recorded fakes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "otel.sdk.disabled=true",
+        "IDENTITY_SECRET_KEY=test-identity-secret",
+        "app.revocation.enabled=false",
+        "app.load-balancer.ejection.consecutive-failures=1",
+        "app.load-balancer.ejection.duration=1m"
+})
+@Import(PeakEwmaLoadBalancerRoutingTest.LoadBalancedRoutes.class)
+class PeakEwmaLoadBalancerRoutingTest {
+    private static final String SLOW_PATH = "/lb/user-service/ping";
+    private static final String FAILING_PATH = "/lb/order-service/ping";
+    private static final Duration SLOW_DELAY = Duration.ofMillis(300);
+    private static final int REQUESTS = 40;
+
+    private static final AtomicInteger fastUserHits = new AtomicInteger();
+    private static final AtomicInteger slowUserHits = new AtomicInteger();
+    private static final AtomicInteger fastOrderHits = new AtomicInteger();
+    private static final AtomicInteger failingOrderHits = new AtomicInteger();
+
+    private static DisposableServer fastUser;
+    private static DisposableServer slowUser;
+    private static DisposableServer fastOrder;
+    private static DisposableServer failingOrder;
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private UpstreamRegistry upstreamRegistry;
+    @Autowired
+    private UpstreamStats upstreamStats;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startUpstreams() {
+        fastUser = start(fastUserHits, HttpStatus.OK, Duration.ZERO);
+        slowUser = start(slowUserHits, HttpStatus.OK, SLOW_DELAY);
+        fastOrder = start(fastOrderHits, HttpStatus.OK, Duration.ZERO);
+        failingOrder = start(failingOrderHits, HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO);
+    }
+
+    @AfterAll
+    static void stopUpstreams() {
+        fastUser.disposeNow();
+        slowUser.disposeNow();
+        fastOrder.disposeNow();
+        failingOrder.disposeNow();
+    }
+
+    @DynamicPropertySource
+    static void upstreams(DynamicPropertyRegistry registry) {
+        registry.add("USER_SERVICE_URIS", () -> uri(fastUser) + ',' + uri(slowUser));
+        registry.add("ORDER_SERVICE_URIS", () -> uri(fastOrder) + ',' + uri(failingOrder));
+    }
+
+    @Test
+    void route_WithSlowInstance_ShouldShiftTrafficToTheFastOne() {
+        for (int i = 0; i < REQUESTS; i++) {
+            webTestClient.get().uri(SLOW_PATH).exchange().expectStatus().isOk();
+        }
+
+        assertTrue(slowUserHits.get() <= 3, "slow instance served " + slowUserHits.get() + " requests");
+        assertEquals(REQUESTS, fastUserHits.get() + slowUserHits.get());
+    }
+
+    @Test
+    void route_WithFailingInstance_ShouldEjectIt() {
+        ServiceInstance failing = upstreamRegistry.getInstances("order-service").stream()
+                .filter(instance -> instance.getPort() == failingOrder.port())
+                .findFirst()
+                .orElseThrow();
+
+        for (int i = 0; i < REQUESTS && !upstreamStats.isEjected(failing, System.nanoTime()); i++) {
+            webTestClient.get().uri(FAILING_PATH).exchange();
+        }
+        assertTrue(upstreamStats.isEjected(failing, System.nanoTime()));
+        assertTrue(meterRegistry.get("gateway.lb.ejections")
+                .tag("instance", failing.getInstanceId())
+                .counter()
+                .count() >= 1);
+
+        int failuresBeforeEjection = failingOrderHits.get();
+        for (int i = 0; i < REQUESTS; i++) {
+            webTestClient.get().uri(FAILING_PATH).exchange().expectStatus().isOk();
+        }
+        assertEquals(failuresBeforeEjection, failingOrderHits.get());
+    }
+
+    private static DisposableServer start(AtomicInteger hits, HttpStatus status, Duration delay) {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> Mono.delay(delay)
+                        .then(Mono.defer(() -> {
+                            hits.incrementAndGet();
+                            return response.status(status.value()).sendString(Mono.just(status.name())).then();
+                        })))
+                .bindNow();
+    }
+
+    private static String uri(DisposableServer server) {
+        return "http://localhost:" + server.port();
+    }
+
+    @TestConfiguration
+    static class LoadBalancedRoutes {
+        @Bean
+        RouteLocator loadBalancedRoutes(RouteLocatorBuilder builder) {
+            return builder.routes()
+                    .route("lb-user-service", route -> route.path(SLOW_PATH).uri("lb://user-service"))
+                    .route("lb-order-service", route -> route.path(FAILING_PATH).uri("lb://order-service"))
+                    .build();
+        }
+    }
+}
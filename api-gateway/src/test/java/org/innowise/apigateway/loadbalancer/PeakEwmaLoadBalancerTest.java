@@ -0,0 +1,88 @@
+package org.innowise.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PeakEwmaLoadBalancerTest {
+    private static final String SERVICE_ID = "user-service";
+    private static final int ATTEMPTS = 20;
+
+    private final ServiceInstance first = new DefaultServiceInstance("localhost:18080", SERVICE_ID, "localhost", 18080, false);
+    private final ServiceInstance second = new DefaultServiceInstance("localhost:18090", SERVICE_ID, "localhost", 18090, false);
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamStats stats;
+    private PeakEwmaLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stats = new UpstreamStats(meterRegistry, Duration.ofSeconds(10), 2, Duration.ofMinutes(1));
+        loadBalancer = new PeakEwmaLoadBalancer(SERVICE_ID, null, stats);
+    }
+
+    @Test
+    void choose_WithNoInstances_ShouldReturnEmptyResponse() {
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+
+    @Test
+    void choose_WhenInstanceHasOutstandingRequests_ShouldPreferIdleInstance() {
+        for (int i = 0; i < 3; i++) {
+            start(first);
+        }
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            assertSame(second, loadBalancer.choose(List.of(first, second)).getServer());
+        }
+    }
+
+    @Test
+    void choose_AfterConsecutiveFailures_ShouldEjectInstance() {
+        fail(first);
+        fail(first);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            assertSame(second, loadBalancer.choose(List.of(first, second)).getServer());
+        }
+        assertEquals(1.0, meterRegistry.get("gateway.lb.ejections").tag("instance", "localhost:18080").counter().count());
+    }
+
+    @Test
+    void choose_WhenAllInstancesEjected_ShouldFallBackToAllInstances() {
+        fail(first);
+        fail(first);
+
+        assertSame(first, loadBalancer.choose(List.of(first)).getServer());
+    }
+
+    private Request<RequestDataContext> start(ServiceInstance instance) {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        stats.onStartRequest(request, new DefaultResponse(instance));
+        return request;
+    }
+
+    private void fail(ServiceInstance instance) {
+        Request<RequestDataContext> request = start(instance);
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        stats.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED,
+                new IOException("Connection refused"), request, response));
+    }
+}
@@ -0,0 +1,65 @@
+package org.innowise.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimiterTest {
+    private static final String ROUTE_ID = "user-service";
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        InMemoryRateLimiter.Config config = new InMemoryRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(3);
+        rateLimiter = new InMemoryRateLimiter(null, new RateLimiterMetrics(meterRegistry), config,
+                100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void isAllowed_WithinBurstCapacity_ShouldAllowAndReportRemaining() {
+        RateLimiter.Response first = rateLimiter.isAllowed(ROUTE_ID, "user:a").block();
+        RateLimiter.Response second = rateLimiter.isAllowed(ROUTE_ID, "user:a").block();
+
+        assertTrue(first.isAllowed());
+        assertTrue(second.isAllowed());
+        assertEquals("1", second.getHeaders().get(RedisRateLimiter.REMAINING_HEADER));
+    }
+
+    @Test
+    void isAllowed_WhenBucketExhausted_ShouldReject() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.isAllowed(ROUTE_ID, "user:a").block().isAllowed());
+        }
+
+        RateLimiter.Response rejected = rateLimiter.isAllowed(ROUTE_ID, "user:a").block();
+
+        assertFalse(rejected.isAllowed());
+        assertEquals("0", rejected.getHeaders().get(RedisRateLimiter.REMAINING_HEADER));
+        assertEquals(1.0, meterRegistry.get("gateway.rate-limit.requests")
+                .tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void isAllowed_WithDifferentKeys_ShouldUseSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.isAllowed(ROUTE_ID, "user:a").block();
+        }
+
+        assertTrue(rateLimiter.isAllowed(ROUTE_ID, "user:b").block().isAllowed());
+        assertTrue(rateLimiter.isAllowed("order-service-protected", "user:a").block().isAllowed());
+        assertEquals(3.0, meterRegistry.get("gateway.rate-limit.buckets").gauge().value());
+    }
+}
@@ -0,0 +1,42 @@
+package org.innowise.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrincipalOrIpKeyResolverTest {
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final PrincipalOrIpKeyResolver keyResolver = new PrincipalOrIpKeyResolver(
+            new RemoteAddressResolver() {
+            },
+            XForwardedRemoteAddressResolver.maxTrustedIndex(1));
+
+    @Test
+    void resolve_DirectRequest_ShouldIgnoreForwardedHeader() {
+        MockServerWebExchange exchange = exchange("203.0.113.7", "198.51.100.1");
+
+        assertEquals("ip:203.0.113.7", keyResolver.resolve(exchange).block());
+    }
+
+    @Test
+    void resolve_BatchSubRequestOverLoopback_ShouldUseTheCallerAddedByTheGateway() {
+        MockServerWebExchange first = exchange("127.0.0.1", "198.51.100.1, 203.0.113.7");
+        MockServerWebExchange second = exchange("127.0.0.1", "203.0.113.8");
+
+        assertEquals("ip:203.0.113.7", keyResolver.resolve(first).block());
+        assertEquals("ip:203.0.113.8", keyResolver.resolve(second).block());
+    }
+
+    private static MockServerWebExchange exchange(String remoteAddress, String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40000))
+                .header(X_FORWARDED_FOR, forwardedFor));
+    }
+}
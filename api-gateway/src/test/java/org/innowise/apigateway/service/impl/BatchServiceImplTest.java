@@ -0,0 +1,84 @@
+package org.innowise.apigateway.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.innowise.apigateway.model.dto.BatchRequest;
+import org.innowise.apigateway.model.dto.BatchResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchServiceImplTest {
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private DisposableServer server;
+    private DisposableServer managementServer;
+    private BatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/api/v1/users/me", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just("{\"authorization\":\""
+                                + request.requestHeaders().get(HttpHeaders.AUTHORIZATION) + "\"}"))))
+                .bindNow();
+        managementServer = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.status(418).send())
+                .bindNow();
+        batchService = new BatchServiceImpl(WebClient.builder(), new ObjectMapper(), new ServerProperties(),
+                2, DataSize.ofMegabytes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+        managementServer.disposeNow();
+    }
+
+    @Test
+    void execute_ShouldSendPartsToTheBoundPortIgnoringTheManagementServer() {
+        batchService.onWebServerInitialized(initialized(server.port(), null));
+        batchService.onWebServerInitialized(initialized(managementServer.port(), MANAGEMENT_NAMESPACE));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+        BatchResponse response = batchService.execute(
+                new BatchRequest(List.of(new BatchRequest.Part("me", "GET", "/api/v1/users/me"))), exchange).block();
+
+        BatchResponse.Part part = response.responses().get(0);
+        assertEquals("me", part.id());
+        assertEquals(200, part.status());
+        assertEquals("Bearer token", part.body().get("authorization").asText());
+    }
+
+    private static ReactiveWebServerInitializedEvent initialized(int port, String namespace) {
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.getPort()).thenReturn(port);
+        ReactiveWebServerApplicationContext context = mock(ReactiveWebServerApplicationContext.class);
+        when(context.getServerNamespace()).thenReturn(namespace);
+        return new ReactiveWebServerInitializedEvent(webServer, context);
+    }
+}
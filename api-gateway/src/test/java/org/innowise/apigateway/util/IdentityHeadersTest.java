@@ -0,0 +1,85 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.innowise.common.util.HeaderSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityHeadersTest {
+    private static final String SECRET = "test-identity-secret";
+    private static final String EMAIL = "user@example.com";
+    private static final long EXPIRES = 1_900_000_000L;
+
+    private final IdentityHeaders identityHeaders = new IdentityHeaders(SECRET);
+    private final HeaderSignature downstream = new HeaderSignature(SECRET);
+
+    @Test
+    void write_ShouldForwardUserIdClaimAndSubjectAsSignedHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ApplicationConstant.USER_ID_HEADER, "1");
+
+        identityHeaders.write(headers, claims(42L));
+
+        assertEquals(List.of("42"), headers.get(ApplicationConstant.USER_ID_HEADER));
+        assertEquals(EMAIL, headers.getFirst(ApplicationConstant.USER_EMAIL_HEADER));
+        assertEquals("ROLE_USER,ROLE_ADMIN", headers.getFirst(ApplicationConstant.USER_ROLES_HEADER));
+        assertEquals(String.valueOf(EXPIRES), headers.getFirst(ApplicationConstant.USER_EXPIRES_HEADER));
+        assertTrue(downstream.verify(headers.getFirst(ApplicationConstant.USER_SIGNATURE_HEADER),
+                "42", EMAIL, "ROLE_USER,ROLE_ADMIN", String.valueOf(EXPIRES)));
+    }
+
+    @Test
+    void write_WithoutUserIdClaim_ShouldForwardEmptyId() {
+        HttpHeaders headers = new HttpHeaders();
+
+        identityHeaders.write(headers, claims(null));
+
+        assertEquals("", headers.getFirst(ApplicationConstant.USER_ID_HEADER));
+        assertTrue(downstream.verify(headers.getFirst(ApplicationConstant.USER_SIGNATURE_HEADER),
+                "", EMAIL, "ROLE_USER,ROLE_ADMIN", String.valueOf(EXPIRES)));
+    }
+
+    @Test
+    void writeClientAddress_ShouldSignAddress() {
+        HttpHeaders headers = new HttpHeaders();
+
+        identityHeaders.writeClientAddress(headers, "203.0.113.7");
+
+        assertEquals("203.0.113.7", headers.getFirst(ApplicationConstant.CLIENT_ADDRESS_HEADER));
+        String signature = headers.getFirst(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER);
+        assertTrue(downstream.verify(signature, "203.0.113.7"));
+        assertFalse(downstream.verify(signature, "198.51.100.23"));
+    }
+
+    @Test
+    void strip_ShouldRemoveIdentityAndClientAddressHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        IdentityHeaders.ALL.forEach(header -> headers.set(header, "forged"));
+        headers.set(HttpHeaders.ACCEPT, "application/json");
+
+        IdentityHeaders.strip(headers);
+
+        assertEquals(1, headers.size());
+        assertFalse(headers.containsKey(ApplicationConstant.CLIENT_ADDRESS_HEADER));
+        assertFalse(headers.containsKey(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER));
+    }
+
+    private static Claims claims(Long userId) {
+        Claims claims = Jwts.claims()
+                .setSubject(EMAIL)
+                .setExpiration(new Date(EXPIRES * 1000));
+        claims.put(ApplicationConstant.ROLES_CLAIM, List.of("ROLE_USER", "ROLE_ADMIN"));
+        if (userId != null) {
+            claims.put(ApplicationConstant.USER_ID_CLAIM, userId);
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,140 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.common.util.BloomFilter;
+import org.innowise.common.util.RevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class JwtFilterTest {
+    private static final String TOKEN_ID = "token-1";
+    private static final String SUBJECT = "user@example.com";
+
+    private final RevocationList revocationList = new RevocationList();
+
+    private KeyPair keyPair;
+    private JwtFilter jwtFilter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyPair = generateKeyPair();
+
+        JwtVerifier jwtVerifier = new JwtVerifier(new MockEnvironment(),
+                new VerifiedTokenCache(true, 100, Duration.ofMinutes(15), new SimpleMeterRegistry()));
+        jwtVerifier.init();
+        jwtVerifier.reloadPublicKeys(Map.of("current", keyPair.getPublic()));
+        OpenPathMatcher openPathMatcher = new OpenPathMatcher(new MockEnvironment()
+                .withProperty(ApplicationConstant.OPEN_PATHS_PROPERTY + "[0]", "/api/v1/auth/login/**"));
+        openPathMatcher.init();
+        jwtFilter = new JwtFilter(jwtVerifier, mock(IdentityHeaders.class), openPathMatcher, revocationList);
+    }
+
+    @Test
+    void authenticate_WithValidToken_ShouldReturnClaims() {
+        assertEquals(SUBJECT, jwtFilter.authenticate(request(sign())).orElseThrow().getSubject());
+    }
+
+    @Test
+    void authenticate_WithTokenRevokedAfterCaching_ShouldReject() {
+        String token = sign();
+        assertTrue(jwtFilter.authenticate(request(token)).isPresent());
+
+        BloomFilter revoked = BloomFilter.create(1024, 0.000001);
+        revoked.put(TOKEN_ID);
+        revocationList.update(revoked, "\"v1\"");
+
+        assertTrue(jwtFilter.authenticate(request(token)).isEmpty());
+    }
+
+    @Test
+    void authenticate_WithoutBearerToken_ShouldReject() {
+        assertTrue(jwtFilter.authenticate(MockServerHttpRequest.get("/api/v1/users/me").build()).isEmpty());
+        assertTrue(jwtFilter.authenticate(MockServerHttpRequest.get("/api/v1/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz")
+                .build()).isEmpty());
+    }
+
+    @Test
+    void authenticate_WithTokenSignedByAnotherKey_ShouldReject() throws Exception {
+        assertTrue(jwtFilter.authenticate(request(sign(generateKeyPair()))).isEmpty());
+    }
+
+    @Test
+    void apply_WithOpenPath_ShouldPassWithoutToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login"));
+        AtomicBoolean forwarded = new AtomicBoolean();
+
+        jwtFilter.apply(new JwtFilter.Config()).filter(exchange, forwarding(forwarded)).block();
+
+        assertTrue(forwarded.get());
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void apply_WithProtectedPathWithoutToken_ShouldRespondUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/auth/loginx"));
+        AtomicBoolean forwarded = new AtomicBoolean();
+
+        jwtFilter.apply(new JwtFilter.Config()).filter(exchange, forwarding(forwarded)).block();
+
+        assertFalse(forwarded.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    private static GatewayFilterChain forwarding(AtomicBoolean forwarded) {
+        return exchange -> {
+            forwarded.set(true);
+            return Mono.empty();
+        };
+    }
+
+    private String sign() {
+        return sign(keyPair);
+    }
+
+    private static String sign(KeyPair keyPair) {
+        return Jwts.builder()
+                .setHeaderParam("kid", "current")
+                .setId(TOKEN_ID)
+                .setSubject(SUBJECT)
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private static ServerHttpRequest request(String token) {
+        return MockServerHttpRequest.get("/api/v1/users/me")
+                .header(HttpHeaders.AUTHORIZATION, ApplicationConstant.BEARER_PREFIX + token)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyRingTest {
+    private static final String DEFAULT_SECRET = "default-secret-default-secret-default-secret";
+    private static final String KEYED_SECRET = "keyed-secret-keyed-secret-keyed-secret-keyed";
+    private static final String OTHER_SECRET = "other-secret-other-secret-other-secret-other";
+    private static final String SUBJECT = "user@example.com";
+
+    private static KeyPair ecKey;
+    private static KeyPair otherEcKey;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKey = generator.generateKeyPair();
+        otherEcKey = generator.generateKeyPair();
+    }
+
+    @Test
+    void parse_WithEs256TokenByKid_ShouldUseThatPublicKey() {
+        JwtKeyRing ring = JwtKeyRing.of("", Map.of(), Map.of("ec-1", ecKey.getPublic(), "ec-2", otherEcKey.getPublic()));
+
+        assertEquals(SUBJECT, ring.parse(es256("ec-1", ecKey)).getSubject());
+        assertEquals(SUBJECT, ring.parse(es256("ec-2", otherEcKey)).getSubject());
+        assertThrows(Exception.class, () -> ring.parse(es256("ec-1", otherEcKey)));
+    }
+
+    @Test
+    void parse_WithEs256TokenOfUnknownOrMissingKid_ShouldReject() {
+        JwtKeyRing ring = JwtKeyRing.of(DEFAULT_SECRET, Map.of(), Map.of("ec-1", ecKey.getPublic()));
+
+        assertThrows(UnsupportedJwtException.class, () -> ring.parse(es256("ec-2", ecKey)));
+        assertThrows(UnsupportedJwtException.class, () -> ring.parse(es256(null, ecKey)));
+    }
+
+    @Test
+    void parse_WithHmacTokenWithoutKid_ShouldUseDefaultSecret() {
+        JwtKeyRing ring = JwtKeyRing.of(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of());
+
+        assertEquals(SUBJECT, ring.parse(hs256(null, DEFAULT_SECRET)).getSubject());
+        assertThrows(Exception.class, () -> ring.parse(hs256(null, KEYED_SECRET)));
+    }
+
+    @Test
+    void parse_WithHmacTokenByKid_ShouldUseThatSecretOnly() {
+        JwtKeyRing ring = JwtKeyRing.of(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of());
+
+        assertEquals(SUBJECT, ring.parse(hs256("hs-1", KEYED_SECRET)).getSubject());
+        assertThrows(Exception.class, () -> ring.parse(hs256("hs-1", DEFAULT_SECRET)));
+        assertThrows(UnsupportedJwtException.class, () -> ring.parse(hs256("hs-2", KEYED_SECRET)));
+    }
+
+    @Test
+    void parse_WithBlankDefaultSecret_ShouldRejectHmacTokensWithoutKid() {
+        JwtKeyRing ring = JwtKeyRing.of(" ", Map.of("hs-1", KEYED_SECRET), Map.of());
+
+        assertThrows(UnsupportedJwtException.class, () -> ring.parse(hs256(null, DEFAULT_SECRET)));
+        assertEquals(SUBJECT, ring.parse(hs256("hs-1", KEYED_SECRET)).getSubject());
+    }
+
+    @Test
+    void parse_WithHmacTokenNamingPublicKeyKid_ShouldReject() {
+        JwtKeyRing ring = JwtKeyRing.of("", Map.of(), Map.of("ec-1", ecKey.getPublic()));
+
+        assertThrows(UnsupportedJwtException.class, () -> ring.parse(hs256("ec-1", DEFAULT_SECRET)));
+    }
+
+    @Test
+    void retains_WithSameOrAddedKeys_ShouldReturnTrue() {
+        JwtKeyRing previous = ring(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of("ec-1", ecKey.getPublic()));
+
+        assertTrue(ring(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of("ec-1", ecKey.getPublic()))
+                .retains(previous));
+        assertTrue(ring(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET, "hs-2", OTHER_SECRET),
+                Map.of("ec-1", ecKey.getPublic(), "ec-2", otherEcKey.getPublic())).retains(previous));
+    }
+
+    @Test
+    void retains_WithRemovedOrReplacedKeys_ShouldReturnFalse() {
+        JwtKeyRing previous = ring(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of("ec-1", ecKey.getPublic()));
+
+        assertFalse(ring(OTHER_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of("ec-1", ecKey.getPublic()))
+                .retains(previous));
+        assertFalse(ring("", Map.of("hs-1", KEYED_SECRET), Map.of("ec-1", ecKey.getPublic()))
+                .retains(previous));
+        assertFalse(ring(DEFAULT_SECRET, Map.of(), Map.of("ec-1", ecKey.getPublic())).retains(previous));
+        assertFalse(ring(DEFAULT_SECRET, Map.of("hs-1", OTHER_SECRET), Map.of("ec-1", ecKey.getPublic()))
+                .retains(previous));
+        assertFalse(ring(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of()).retains(previous));
+        assertFalse(ring(DEFAULT_SECRET, Map.of("hs-1", KEYED_SECRET), Map.of("ec-1", otherEcKey.getPublic()))
+                .retains(previous));
+    }
+
+    private static JwtKeyRing ring(String defaultSecret, Map<String, String> secrets,
+                                   Map<String, PublicKey> publicKeys) {
+        return JwtKeyRing.of(defaultSecret, secrets, publicKeys);
+    }
+
+    private static String es256(String kid, KeyPair keyPair) {
+        return token(kid, keyPair.getPrivate(), SignatureAlgorithm.ES256);
+    }
+
+    private static String hs256(String kid, String secret) {
+        return token(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256);
+    }
+
+    private static String token(String kid, Key key, SignatureAlgorithm algorithm) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(SUBJECT)
+                .signWith(key, algorithm);
+        if (kid != null) {
+            builder.setHeaderParam("kid", kid);
+        }
+        return builder.compact();
+    }
+}
@@ -0,0 +1,136 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class JwtKeyRingWatcherTest {
+    private static final String DEFAULT_SECRET = "default-secret-default-secret-default-secret";
+    private static final String FIRST_SECRET = "first-secret-first-secret-first-secret-first";
+    private static final String SECOND_SECRET = "second-secret-second-secret-second-secret-se";
+    private static final String SUBJECT = "user@example.com";
+    private static final Duration RELOAD_TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private JwtVerifier jwtVerifier;
+    private JwtKeyRingWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("jwt-keys.properties");
+        write("first=" + FIRST_SECRET);
+
+        jwtVerifier = new JwtVerifier(new MockEnvironment()
+                .withProperty(ApplicationConstant.JWT_HS256_ENABLED_PROPERTY, "true")
+                .withProperty(ApplicationConstant.JWT_SECRET_PROPERTY, DEFAULT_SECRET),
+                new VerifiedTokenCache(true, 100, Duration.ofMinutes(15), new SimpleMeterRegistry()));
+        jwtVerifier.init();
+        watcher = new JwtKeyRingWatcher(jwtVerifier, file.toString());
+        watcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.stop();
+    }
+
+    @Test
+    void start_ShouldLoadKeysFromFile() {
+        assertEquals(SUBJECT, jwtVerifier.verify(sign("first", FIRST_SECRET)).getSubject());
+        assertEquals(SUBJECT, jwtVerifier.verify(sign(null, DEFAULT_SECRET)).getSubject());
+    }
+
+    @Test
+    void watch_WhenFileChanges_ShouldReloadKeys() throws Exception {
+        String first = sign("first", FIRST_SECRET);
+        jwtVerifier.verify(first);
+
+        write("second=" + SECOND_SECRET);
+
+        awaitVerified(sign("second", SECOND_SECRET));
+        assertThrows(Exception.class, () -> jwtVerifier.verify(first));
+    }
+
+    @Test
+    void watch_WhenFileIsSwappedAtomically_ShouldReloadKeys() throws Exception {
+        Path next = directory.resolve("jwt-keys.properties.tmp");
+        Files.writeString(next, "first=" + FIRST_SECRET + "\nsecond=" + SECOND_SECRET, StandardCharsets.UTF_8);
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        awaitVerified(sign("second", SECOND_SECRET));
+        assertEquals(SUBJECT, jwtVerifier.verify(sign("first", FIRST_SECRET)).getSubject());
+    }
+
+    @Test
+    void watch_WhenFileHoldsInvalidKey_ShouldKeepPreviousKeys() throws Exception {
+        write("second=too-short");
+        Thread.sleep(1_000);
+        write("first=" + FIRST_SECRET + "\nthird=" + SECOND_SECRET);
+
+        awaitVerified(sign("third", SECOND_SECRET));
+        assertEquals(SUBJECT, jwtVerifier.verify(sign("first", FIRST_SECRET)).getSubject());
+    }
+
+    @Test
+    void start_WithHs256Disabled_ShouldIgnoreKeys() throws IOException {
+        JwtVerifier es256Only = new JwtVerifier(new MockEnvironment(),
+                new VerifiedTokenCache(true, 100, Duration.ofMinutes(15), new SimpleMeterRegistry()));
+        es256Only.init();
+        JwtKeyRingWatcher es256OnlyWatcher = new JwtKeyRingWatcher(es256Only, file.toString());
+        es256OnlyWatcher.start();
+        try {
+            assertThrows(Exception.class, () -> es256Only.verify(sign("first", FIRST_SECRET)));
+            assertThrows(Exception.class, () -> es256Only.verify(sign(null, DEFAULT_SECRET)));
+        } finally {
+            es256OnlyWatcher.stop();
+        }
+    }
+
+    private void write(String content) throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private void awaitVerified(String token) throws InterruptedException {
+        long deadline = System.nanoTime() + RELOAD_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                jwtVerifier.verify(token);
+                return;
+            } catch (Exception e) {
+                Thread.sleep(50);
+            }
+        }
+        fail("key ring was not reloaded within " + RELOAD_TIMEOUT);
+    }
+
+    private static String sign(String kid, String secret) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(SUBJECT)
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256);
+        if (kid != null) {
+            builder.setHeaderParam("kid", kid);
+        }
+        return builder.compact();
+    }
+}
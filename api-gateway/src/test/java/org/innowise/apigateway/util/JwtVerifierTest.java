@@ -0,0 +1,195 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class JwtVerifierTest {
+    private static final String SUBJECT = "user@example.com";
+    private static final String OLD_SECRET = "old-secret-old-secret-old-secret-old-secret";
+    private static final String NEW_SECRET = "new-secret-new-secret-new-secret-new-secret";
+
+    private final VerifiedTokenCache verifiedTokenCache =
+            spy(new VerifiedTokenCache(true, 100, Duration.ofMinutes(15), new SimpleMeterRegistry()));
+
+    private KeyPair current;
+    private KeyPair next;
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        current = generateKeyPair();
+        next = generateKeyPair();
+        jwtVerifier = new JwtVerifier(new MockEnvironment(), verifiedTokenCache);
+        jwtVerifier.init();
+        jwtVerifier.reloadPublicKeys(Map.of("current", current.getPublic()));
+    }
+
+    @Test
+    void verify_WithKeyRemovedAfterCaching_ShouldRejectToken() {
+        String token = sign(current, "current");
+        assertEquals(SUBJECT, jwtVerifier.verify(token).getSubject());
+
+        jwtVerifier.reloadPublicKeys(Map.of("next", next.getPublic()));
+
+        verify(verifiedTokenCache).invalidateAll();
+        assertThrows(Exception.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void verify_WithKeyReplacedUnderSameKid_ShouldRejectToken() {
+        String token = sign(current, "current");
+        jwtVerifier.verify(token);
+
+        jwtVerifier.reloadPublicKeys(Map.of("current", next.getPublic()));
+
+        verify(verifiedTokenCache).invalidateAll();
+        assertThrows(Exception.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void reloadPublicKeys_WithKeyAdded_ShouldKeepCache() {
+        String token = sign(current, "current");
+        jwtVerifier.verify(token);
+
+        jwtVerifier.reloadPublicKeys(Map.<String, PublicKey>of("current", current.getPublic(), "next", next.getPublic()));
+
+        verify(verifiedTokenCache, never()).invalidateAll();
+        assertEquals(SUBJECT, jwtVerifier.verify(token).getSubject());
+        assertEquals(SUBJECT, jwtVerifier.verify(sign(next, "next")).getSubject());
+    }
+
+    @Test
+    void onEnvironmentChange_WithRotatedSecret_ShouldRejectOldTokens() {
+        MockEnvironment environment = hs256Environment(OLD_SECRET);
+        JwtVerifier hs256 = new JwtVerifier(environment, verifiedTokenCache);
+        hs256.init();
+        String oldToken = sign(OLD_SECRET);
+        assertEquals(SUBJECT, hs256.verify(oldToken).getSubject());
+
+        environment.setProperty(ApplicationConstant.JWT_SECRET_PROPERTY, NEW_SECRET);
+        hs256.onEnvironmentChange(new EnvironmentChangeEvent(Set.of(ApplicationConstant.JWT_SECRET_PROPERTY)));
+
+        verify(verifiedTokenCache).invalidateAll();
+        assertThrows(Exception.class, () -> hs256.verify(oldToken));
+        assertEquals(SUBJECT, hs256.verify(sign(NEW_SECRET)).getSubject());
+    }
+
+    @Test
+    void onEnvironmentChange_WithOtherProperty_ShouldKeepSecret() {
+        MockEnvironment environment = hs256Environment(OLD_SECRET);
+        JwtVerifier hs256 = new JwtVerifier(environment, verifiedTokenCache);
+        hs256.init();
+
+        environment.setProperty(ApplicationConstant.JWT_SECRET_PROPERTY, NEW_SECRET);
+        hs256.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("app.jwt.cache.enabled")));
+
+        assertEquals(SUBJECT, hs256.verify(sign(OLD_SECRET)).getSubject());
+        assertThrows(Exception.class, () -> hs256.verify(sign(NEW_SECRET)));
+    }
+
+    @Test
+    void reloadSecret_WithHs256Disabled_ShouldIgnoreSecret() {
+        jwtVerifier.reloadSecret();
+
+        assertThrows(Exception.class, () -> jwtVerifier.verify(sign(OLD_SECRET)));
+    }
+
+    @Test
+    void refresh_WithSecretChangedInImportedFile_ShouldRotateSecret(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("gateway.properties");
+        writeSecret(file, OLD_SECRET);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RefreshContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.import=file:" + file)
+                .run()) {
+            JwtVerifier hs256 = context.getBean(JwtVerifier.class);
+            String oldToken = sign(OLD_SECRET);
+            assertEquals(SUBJECT, hs256.verify(oldToken).getSubject());
+
+            writeSecret(file, NEW_SECRET);
+            context.getBean(ContextRefresher.class).refresh();
+
+            assertThrows(Exception.class, () -> hs256.verify(oldToken));
+            assertEquals(SUBJECT, hs256.verify(sign(NEW_SECRET)).getSubject());
+        }
+    }
+
+    private static void writeSecret(Path file, String secret) throws Exception {
+        Files.writeString(file, ApplicationConstant.JWT_HS256_ENABLED_PROPERTY + "=true\n"
+                + ApplicationConstant.JWT_SECRET_PROPERTY + "=" + secret, StandardCharsets.UTF_8);
+    }
+
+    private static MockEnvironment hs256Environment(String secret) {
+        return new MockEnvironment()
+                .withProperty(ApplicationConstant.JWT_HS256_ENABLED_PROPERTY, "true")
+                .withProperty(ApplicationConstant.JWT_SECRET_PROPERTY, secret);
+    }
+
+    private static String sign(KeyPair keyPair, String kid) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject(SUBJECT)
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static String sign(String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .setSubject(SUBJECT)
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @Import({RefreshAutoConfiguration.class, JwtVerifier.class})
+    static class RefreshContext {
+        @Bean
+        VerifiedTokenCache verifiedTokenCache() {
+            return new VerifiedTokenCache(true, 100, Duration.ofMinutes(15), new SimpleMeterRegistry());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.innowise.apigateway.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenPathMatcherTest {
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty(ApplicationConstant.OPEN_PATHS_PROPERTY + "[0]", "/api/v1/auth/login/**")
+            .withProperty(ApplicationConstant.OPEN_PATHS_PROPERTY + "[1]", "/api/v1/auth/register/**")
+            .withProperty(ApplicationConstant.OPEN_PATHS_PROPERTY + "[2]", "/api/v1/products/{id}");
+
+    private OpenPathMatcher openPathMatcher;
+
+    @BeforeEach
+    void setUp() {
+        openPathMatcher = new OpenPathMatcher(environment);
+        openPathMatcher.init();
+    }
+
+    @Test
+    void matches_WithConfiguredPaths_ShouldReturnTrue() {
+        assertTrue(matches("/api/v1/auth/login"));
+        assertTrue(matches("/api/v1/auth/register"));
+        assertTrue(matches("/api/v1/products/42"));
+    }
+
+    @Test
+    void matches_WithWildcardPattern_ShouldCoverTrailingSlashAndSubPaths() {
+        assertTrue(matches("/api/v1/auth/login/"));
+        assertTrue(matches("/api/v1/auth/login/oauth/callback"));
+    }
+
+    @Test
+    void matches_WithTrailingSlashOnExactPattern_ShouldReturnFalse() {
+        assertFalse(matches("/api/v1/products/42/"));
+        assertFalse(matches("/api/v1/products/42/reviews"));
+    }
+
+    @Test
+    void matches_WithPathSharingOnlyAPrefix_ShouldReturnFalse() {
+        assertFalse(matches("/api/v1/auth/loginx"));
+        assertFalse(matches("/api/v1/auth/login-admin"));
+        assertFalse(matches("/api/v1/auth"));
+    }
+
+    @Test
+    void matches_WithProtectedPath_ShouldReturnFalse() {
+        assertFalse(matches("/api/v1/users/me"));
+        assertFalse(matches("/api/v1/auth/revoke"));
+        assertFalse(matches("/"));
+    }
+
+    @Test
+    void matches_WithoutConfiguredPaths_ShouldReturnFalse() {
+        OpenPathMatcher empty = new OpenPathMatcher(new MockEnvironment());
+        empty.init();
+
+        assertFalse(empty.matches(PathContainer.parsePath("/api/v1/auth/login")));
+    }
+
+    @Test
+    void onEnvironmentChange_WithOpenPathsChanged_ShouldRecompile() {
+        environment.setProperty(ApplicationConstant.OPEN_PATHS_PROPERTY + "[2]", "/api/v1/health");
+
+        openPathMatcher.onEnvironmentChange(new EnvironmentChangeEvent(
+                Set.of(ApplicationConstant.OPEN_PATHS_PROPERTY + "[2]")));
+
+        assertTrue(matches("/api/v1/health"));
+        assertFalse(matches("/api/v1/products/42"));
+    }
+
+    @Test
+    void onEnvironmentChange_WithOtherProperty_ShouldKeepPatterns() {
+        environment.setProperty(ApplicationConstant.OPEN_PATHS_PROPERTY + "[2]", "/api/v1/health");
+
+        openPathMatcher.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("app.jwt.cache.enabled")));
+
+        assertTrue(matches("/api/v1/products/42"));
+        assertFalse(matches("/api/v1/health"));
+    }
+
+    private boolean matches(String path) {
+        return openPathMatcher.matches(PathContainer.parsePath(path));
+    }
+}
@@ -0,0 +1,144 @@
+package org.innowise.apigateway.util;
+
+import org.innowise.common.util.BloomFilter;
+import org.innowise.common.util.RevocationList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class RevocationListPollerTest {
+    private static final String PATH = "/api/v1/auth/revocations";
+
+    private final AtomicReference<Upstream> upstream = new AtomicReference<>();
+    private final AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+    private final RevocationList revocationList = new RevocationList();
+
+    private DisposableServer server;
+    private RevocationListPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(PATH, (request, response) -> {
+                    ifNoneMatch.set(request.requestHeaders().get(HttpHeaders.IF_NONE_MATCH));
+                    Upstream current = upstream.get();
+                    if (current.etag() != null) {
+                        response.header(HttpHeaders.ETAG, current.etag());
+                    }
+                    return response.status(current.status()).sendByteArray(Mono.just(current.body()));
+                }))
+                .bindNow();
+
+        ReactorLoadBalancerExchangeFilterFunction loadBalancer =
+                mock(ReactorLoadBalancerExchangeFilterFunction.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> invocation.<ExchangeFunction>getArgument(1)
+                .exchange(invocation.<ClientRequest>getArgument(0)))
+                .when(loadBalancer).filter(any(), any());
+        poller = new RevocationListPoller(revocationList, loadBalancer, true,
+                "http://localhost:" + server.port() + PATH, Duration.ofSeconds(5), DataSize.ofMegabytes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void poll_WithSnapshot_ShouldLoadItAndItsEtag() {
+        upstream.set(new Upstream(200, "\"v1\"", snapshot("token-1")));
+
+        poller.poll().block();
+
+        assertNull(ifNoneMatch.get());
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertFalse(revocationList.isRevoked("token-2"));
+        assertEquals("\"v1\"", revocationList.getEtag());
+    }
+
+    @Test
+    void poll_WithNotModified_ShouldSendEtagAndKeepSnapshot() {
+        upstream.set(new Upstream(200, "\"v1\"", snapshot("token-1")));
+        poller.poll().block();
+
+        upstream.set(new Upstream(304, "\"v1\"", new byte[0]));
+        poller.poll().block();
+
+        assertEquals("\"v1\"", ifNoneMatch.get());
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertEquals("\"v1\"", revocationList.getEtag());
+    }
+
+    @Test
+    void poll_WithChangedSnapshot_ShouldReplaceIt() {
+        upstream.set(new Upstream(200, "\"v1\"", snapshot("token-1")));
+        poller.poll().block();
+
+        upstream.set(new Upstream(200, "\"v2\"", snapshot("token-2")));
+        poller.poll().block();
+
+        assertFalse(revocationList.isRevoked("token-1"));
+        assertTrue(revocationList.isRevoked("token-2"));
+        assertEquals("\"v2\"", revocationList.getEtag());
+    }
+
+    @Test
+    void poll_WithServerError_ShouldFailAndKeepSnapshot() {
+        upstream.set(new Upstream(200, "\"v1\"", snapshot("token-1")));
+        poller.poll().block();
+
+        upstream.set(new Upstream(503, null, new byte[0]));
+
+        assertThrows(WebClientResponseException.ServiceUnavailable.class, () -> poller.poll().block());
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertEquals("\"v1\"", revocationList.getEtag());
+    }
+
+    @Test
+    void poll_WithCorruptSnapshot_ShouldFailAndKeepSnapshot() {
+        upstream.set(new Upstream(200, "\"v1\"", snapshot("token-1")));
+        poller.poll().block();
+
+        byte[] bytes = snapshot("token-2");
+        upstream.set(new Upstream(200, "\"v2\"", Arrays.copyOf(bytes, bytes.length - 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> poller.poll().block());
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertEquals("\"v1\"", revocationList.getEtag());
+    }
+
+    private static byte[] snapshot(String... tokenIds) {
+        BloomFilter filter = BloomFilter.create(1024, 0.000001);
+        for (String tokenId : tokenIds) {
+            filter.put(tokenId);
+        }
+        return filter.toByteArray();
+    }
+
+    private record Upstream(int status, String etag, byte[] body) {
+    }
+}
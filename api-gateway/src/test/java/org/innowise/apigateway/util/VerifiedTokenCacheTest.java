@@ -0,0 +1,133 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VerifiedTokenCacheTest {
+    private static final String TOKEN = "header.payload.signature";
+    private static final long GENERATION = 0;
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void get_WithCachedToken_ShouldNotVerifyAgain() {
+        VerifiedTokenCache cache = cache(true, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        Claims first = cache.get(TOKEN, GENERATION, verifier(claims));
+        Claims second = cache.get(TOKEN, GENERATION, verifier(claims));
+
+        assertSame(claims, first);
+        assertSame(claims, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void get_AfterTokenExpires_ShouldVerifyAgain() throws InterruptedException {
+        VerifiedTokenCache cache = cache(true, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofSeconds(1));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        Thread.sleep(1_200);
+        cache.get(TOKEN, GENERATION, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_WithLifetimeBeyondMaxTtl_ShouldVerifyAgainAfterMaxTtl() throws InterruptedException {
+        VerifiedTokenCache cache = cache(true, Duration.ofSeconds(1));
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        Thread.sleep(1_200);
+        cache.get(TOKEN, GENERATION, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_WithAlreadyExpiredClaims_ShouldNotCacheThem() {
+        VerifiedTokenCache cache = cache(true, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofSeconds(-1));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        cache.get(TOKEN, GENERATION, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_WithDifferentTokens_ShouldVerifyEach() {
+        VerifiedTokenCache cache = cache(true, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        cache.get(TOKEN + "x", GENERATION, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_WithNewerKeyRingGeneration_ShouldVerifyAgain() {
+        VerifiedTokenCache cache = cache(true, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        cache.get(TOKEN, GENERATION + 1, verifier(claims));
+        cache.get(TOKEN, GENERATION + 1, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void invalidateAll_ShouldVerifyCachedTokenAgain() {
+        VerifiedTokenCache cache = cache(true, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        cache.invalidateAll();
+        cache.get(TOKEN, GENERATION, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysVerify() {
+        VerifiedTokenCache cache = cache(false, Duration.ofMinutes(15));
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+
+        cache.get(TOKEN, GENERATION, verifier(claims));
+        cache.get(TOKEN, GENERATION, verifier(claims));
+
+        assertEquals(2, verifications.get());
+    }
+
+    private static VerifiedTokenCache cache(boolean enabled, Duration maxTtl) {
+        return new VerifiedTokenCache(enabled, 100, maxTtl, new SimpleMeterRegistry());
+    }
+
+    private Function<String, Claims> verifier(Claims claims) {
+        return token -> {
+            verifications.incrementAndGet();
+            return claims;
+        };
+    }
+
+    private static Claims claimsExpiringIn(Duration lifetime) {
+        return Jwts.claims()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + lifetime.toMillis()));
+    }
+}
@@ -0,0 +1,17 @@
+package org.innowise.authservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.innowise.authservice.util.ApplicationConstant;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class KafkaConfiguration {
+    @Bean
+    public NewTopic userRegisteredTopic() {
+        return new NewTopic(
+                ApplicationConstant.TOPIC_USER_REGISTERED,
+                ApplicationConstant.PARTITION_COUNT,
+                ApplicationConstant.REPLICATION_FACTOR);
+    }
+}
@@ -0,0 +1,34 @@
+package org.innowise.authservice.config;
+
+import org.innowise.authservice.service.LoginAttemptStore;
+import org.innowise.authservice.service.impl.InMemoryLoginAttemptStore;
+import org.innowise.authservice.service.impl.RedisLoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class LoginAttemptStoreConfiguration {
+    private static final String STORE_PROPERTY = "app.security.login-throttling.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "in-memory", matchIfMissing = true)
+    public LoginAttemptStore inMemoryLoginAttemptStore(
+            @Value("${app.security.login-throttling.window:15m}") Duration window,
+            @Value("${app.security.login-throttling.max-tracked-keys:100000}") long maxTrackedKeys) {
+        return new InMemoryLoginAttemptStore(window, maxTrackedKeys, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "redis")
+    public LoginAttemptStore redisLoginAttemptStore(StringRedisTemplate redisTemplate,
+                                                    @Value("${app.security.login-throttling.window:15m}")
+                                                    Duration window) {
+        return new RedisLoginAttemptStore(redisTemplate, window, Clock.systemUTC());
+    }
+}
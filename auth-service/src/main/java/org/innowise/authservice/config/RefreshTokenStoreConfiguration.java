@@ -0,0 +1,33 @@
+package org.innowise.authservice.config;
+
+import org.innowise.authservice.service.RefreshTokenStore;
+import org.innowise.authservice.service.impl.InMemoryRefreshTokenStore;
+import org.innowise.authservice.service.impl.RedisRefreshTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class RefreshTokenStoreConfiguration {
+    private static final String STORE_PROPERTY = "app.refresh-tokens.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "in-memory", matchIfMissing = true)
+    public RefreshTokenStore inMemoryRefreshTokenStore(
+            @Value("${app.jwt.refresh-token-expiration}") long refreshTokenExpiration,
+            @Value("${app.refresh-tokens.max-families:100000}") long maxFamilies) {
+        return new InMemoryRefreshTokenStore(Duration.ofMillis(refreshTokenExpiration), maxFamilies);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "redis")
+    public RefreshTokenStore redisRefreshTokenStore(StringRedisTemplate redisTemplate,
+                                                    @Value("${app.jwt.refresh-token-expiration}")
+                                                    long refreshTokenExpiration) {
+        return new RedisRefreshTokenStore(redisTemplate, Duration.ofMillis(refreshTokenExpiration));
+    }
+}
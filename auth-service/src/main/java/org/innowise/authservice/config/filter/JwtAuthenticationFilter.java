@@ -4,13 +4,18 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.innowise.authservice.service.impl.CustomUserDetailsService;
+import org.innowise.authservice.model.PrincipalSource;
+import org.innowise.authservice.service.impl.RevocationList;
+import org.innowise.authservice.service.impl.UserDetailsCache;
 import org.innowise.authservice.util.ApplicationConstant;
 import org.innowise.authservice.util.JwtTokenProvider;
+import org.innowise.authservice.util.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -19,21 +24,41 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer token. With {@link PrincipalSource#CLAIMS} the principal is built
+ * from the verified token alone; with {@link PrincipalSource#DATABASE} it is looked up through the
+ * {@link UserDetailsCache}, so role changes take effect within the cache TTL instead of at token expiry.
+ * Tokens found in the {@link RevocationList} snapshot leave the request unauthenticated.
+ */
 @Slf4j
-@RequiredArgsConstructor
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final RevocationList revocationList;
+    private final PrincipalSource principalSource;
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsCache userDetailsCache,
+                                   RevocationList revocationList,
+                                   @Value("${app.security.principal-source:claims}") PrincipalSource principalSource) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsCache = userDetailsCache;
+        this.revocationList = revocationList;
+        this.principalSource = principalSource;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-                String username = tokenProvider.extractUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            VerifiedToken verified = StringUtils.hasText(token) ? tokenProvider.verify(token).orElse(null) : null;
+            if (verified != null && revocationList.isRevoked(verified.tokenId())) {
+                log.warn("Rejected revoked token {} of {}", verified.tokenId(), verified.subject());
+            } else if (verified != null) {
+                UserDetails userDetails = principalSource == PrincipalSource.CLAIMS
+                        ? toUserDetails(verified)
+                        : userDetailsCache.get(verified.subject());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -48,6 +73,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private static UserDetails toUserDetails(VerifiedToken token) {
+        return new User(token.subject(), "", AuthorityUtils.createAuthorityList(token.roles()));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(ApplicationConstant.AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(ApplicationConstant.BEARER_PREFIX)) {
@@ -1,17 +1,21 @@
 package org.innowise.authservice.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.innowise.authservice.exception.AlreadyExistsException;
+import org.innowise.authservice.exception.TooManyRequestsException;
 import org.innowise.authservice.model.dto.AuthRequest;
 import org.innowise.authservice.model.dto.AuthResponse;
 import org.innowise.authservice.model.dto.RegistrationRequest;
 import org.innowise.authservice.model.dto.TokenRequest;
 import org.innowise.authservice.service.AuthService;
+import org.innowise.authservice.util.ClientAddressResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -26,17 +30,21 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final ClientAddressResolver clientAddressResolver;
 
     /**
      * Authenticates a user with provided credentials and returns authentication tokens.
      *
      * @param authRequest the authentication request containing username (email) and password
+     * @param request     the HTTP request, carrying the client address signed by the api-gateway
      * @return ResponseEntity containing AuthResponse with access and refresh tokens
      * @throws jakarta.validation.ConstraintViolationException if request validation fails
+     * @throws TooManyRequestsException if the account or the client failed to log in too often recently
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest authRequest) {
-        AuthResponse response = authService.login(authRequest);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest authRequest,
+                                              HttpServletRequest request) {
+        AuthResponse response = authService.login(authRequest, clientAddressResolver.resolve(request));
         return ResponseEntity.ok(response);
     }
 
@@ -68,6 +76,22 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Revokes the provided access token, or the family of the provided refresh token, ahead of its expiry.
+     * A revoked access token is rejected everywhere once the next revocation snapshot has been picked up.
+     *
+     * @param tokenRequest   the token request containing the token to revoke
+     * @param authentication the authenticated caller
+     * @return ResponseEntity with HTTP 204 status
+     * @throws ConstraintViolationException if request validation fails
+     */
+    @PostMapping("/revoke")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> revoke(@Valid @RequestBody TokenRequest tokenRequest, Authentication authentication) {
+        authService.revoke(tokenRequest, authentication);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Registers a new user in the system and returns initial authentication tokens.
      *
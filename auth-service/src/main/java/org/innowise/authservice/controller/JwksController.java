@@ -0,0 +1,37 @@
+package org.innowise.authservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.innowise.authservice.util.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the public signing keys for the gateway and the other services, which fetch the set once,
+ * cache it and refresh it in the background.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Value("${app.jwt.jwks.max-age:5m}")
+    private Duration maxAge;
+
+    /**
+     * Returns the JSON Web Key Set of the current signing key.
+     *
+     * @return ResponseEntity with the key set and a public {@code Cache-Control} with HTTP 200 status
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .body(jwtTokenProvider.getJsonWebKeySet());
+    }
+}
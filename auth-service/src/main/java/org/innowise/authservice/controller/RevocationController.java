@@ -0,0 +1,38 @@
+package org.innowise.authservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.innowise.authservice.service.impl.RevocationList;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Publishes the current revocation snapshot to the gateway and the other services. Not routed through
+ * the gateway; consumers poll it directly with the entity tag of the snapshot they already hold.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/revocations")
+@RequiredArgsConstructor
+public class RevocationController {
+    private final RevocationList revocationList;
+
+    /**
+     * Returns the encoded Bloom filter of revoked access token ids.
+     *
+     * @param request the current request, used to answer a matching {@code If-None-Match} with HTTP 304
+     * @return ResponseEntity with the snapshot bytes and its entity tag with HTTP 200 status
+     */
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> snapshot(WebRequest request) {
+        RevocationList.Snapshot snapshot = revocationList.getSnapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .body(snapshot.bytes());
+    }
+}
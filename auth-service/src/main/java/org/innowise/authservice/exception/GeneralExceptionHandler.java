@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.innowise.authservice.model.dto.ApiError;
 import org.innowise.authservice.model.dto.ValidationError;
 import org.innowise.authservice.util.ApplicationConstant;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -79,6 +80,23 @@ public class GeneralExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequestsException(TooManyRequestsException ex,
+                                                                 HttpServletRequest request) {
+        log.warn("Rejected {}: {}", request.getRequestURI(), ex.getReason());
+
+        ApiError apiError = ApiError.of(
+                ApplicationConstant.TOO_MANY_REQUESTS,
+                HttpStatus.TOO_MANY_REQUESTS,
+                request.getRequestURI(),
+                ApplicationConstant.TOO_MANY_REQUESTS_ERROR_CODE
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(apiError);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleException(Exception ex,
                                                   HttpServletRequest request) {
@@ -0,0 +1,37 @@
+package org.innowise.authservice.exception;
+
+import org.innowise.authservice.util.ApplicationConstant;
+
+import java.io.Serial;
+import java.time.Duration;
+
+public class TooManyRequestsException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4001L;
+
+    private static final String HASHING_POOL_SATURATED = "password hashing pool is saturated";
+
+    private final String reason;
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(Duration retryAfter) {
+        this(HASHING_POOL_SATURATED, retryAfter);
+    }
+
+    /**
+     * @param reason logged with the rejection, never sent to the client
+     */
+    public TooManyRequestsException(String reason, Duration retryAfter) {
+        super(ApplicationConstant.TOO_MANY_REQUESTS);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
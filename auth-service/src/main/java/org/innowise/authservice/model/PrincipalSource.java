@@ -0,0 +1,10 @@
+package org.innowise.authservice.model;
+
+/**
+ * Where {@code JwtAuthenticationFilter} takes the authenticated principal from:
+ * the verified token's claims, or the user record behind the {@code UserDetailsCache}.
+ */
+public enum PrincipalSource {
+    CLAIMS,
+    DATABASE
+}
@@ -0,0 +1,29 @@
+package org.innowise.authservice.model;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * {@link UserDetails} that also carries the user's id, which access tokens publish as their {@code uid} claim
+ * so that services behind the gateway can address the user without looking the email up.
+ */
+@Getter
+public class UserPrincipal extends User {
+    private final Long id;
+
+    public UserPrincipal(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    /**
+     * Copy without the password hash, safe to keep in a cache.
+     */
+    public UserPrincipal withoutPassword() {
+        return new UserPrincipal(id, getUsername(), "", getAuthorities());
+    }
+}
@@ -1,15 +1,15 @@
 package org.innowise.authservice.model.dto;
 
-import lombok.Builder;
-
 import java.time.LocalDate;
 
-@Builder
-public record UserDTO(
-        Long id,
+/**
+ * Published once a registration is committed, so user-service creates the profile under the same id.
+ */
+public record UserRegisteredEvent(
+        Long userId,
         String email,
         String name,
         String surname,
         LocalDate birthDate
 ) {
-}
\ No newline at end of file
+}
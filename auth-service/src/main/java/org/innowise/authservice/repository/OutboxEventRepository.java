@@ -0,0 +1,19 @@
+package org.innowise.authservice.repository;
+
+import org.innowise.authservice.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Oldest pending events, locked until the calling transaction ends; rows locked by another instance
+     * are skipped, so concurrent relays never publish the same event at the same time.
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockOldest(@Param("limit") int limit);
+}
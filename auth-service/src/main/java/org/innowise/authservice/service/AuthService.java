@@ -4,6 +4,7 @@ import org.innowise.authservice.model.dto.AuthRequest;
 import org.innowise.authservice.model.dto.AuthResponse;
 import org.innowise.authservice.model.dto.RegistrationRequest;
 import org.innowise.authservice.model.dto.TokenRequest;
+import org.springframework.security.core.Authentication;
 
 /**
  * Service interface for handling authentication operations including login, registration,
@@ -16,10 +17,11 @@ public interface AuthService {
     /**
      * Authenticates a user with the provided credentials and returns authentication tokens.
      *
-     * @param authRequest the authentication request containing user credentials (email and password)
+     * @param authRequest   the authentication request containing user credentials (email and password)
+     * @param clientAddress address of the calling client, used to throttle failed logins per address
      * @return AuthResponse containing access token, refresh token
      */
-    AuthResponse login(AuthRequest authRequest);
+    AuthResponse login(AuthRequest authRequest, String clientAddress);
 
     /**
      * Validates the provided token to ensure it is active and properly signed.
@@ -44,4 +46,13 @@ public interface AuthService {
      * @return AuthResponse containing access token, refresh token
      */
     AuthResponse register(RegistrationRequest registrationRequest);
+
+    /**
+     * Revokes an access token, or the whole family of a refresh token, before it expires.
+     * Tokens that are already invalid are ignored.
+     *
+     * @param tokenRequest   the token request containing the token to revoke
+     * @param authentication the caller, who must own the token or be an administrator
+     */
+    void revoke(TokenRequest tokenRequest, Authentication authentication);
 }
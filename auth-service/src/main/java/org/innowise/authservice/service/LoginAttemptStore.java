@@ -0,0 +1,30 @@
+package org.innowise.authservice.service;
+
+/**
+ * Failed login attempts per key (an account or a client address), counted over a sliding window.
+ * The count is the sliding-window-counter estimate: the current fixed window plus the previous one,
+ * weighted by how much of it still overlaps the sliding window. It needs two counters per key and is
+ * exact when failures are spread evenly over the previous window.
+ */
+public interface LoginAttemptStore {
+    /**
+     * @param key account or address key
+     * @return estimated failures within the last window
+     */
+    double failures(String key);
+
+    /**
+     * Counts one more failure.
+     *
+     * @param key account or address key
+     * @return estimated failures within the last window, including this one
+     */
+    double recordFailure(String key);
+
+    /**
+     * Forgets all failures of the key.
+     *
+     * @param key account or address key
+     */
+    void reset(String key);
+}
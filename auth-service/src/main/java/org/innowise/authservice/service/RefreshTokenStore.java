@@ -0,0 +1,49 @@
+package org.innowise.authservice.service;
+
+/**
+ * Server-side state of refresh token rotation. Every login starts a family, and the store remembers
+ * only the {@code jti} of the family's newest refresh token, so each operation is a single keyed lookup.
+ * Entries expire together with the refresh token they point at.
+ */
+public interface RefreshTokenStore {
+    /**
+     * Starts a new family whose current token is {@code tokenId}.
+     *
+     * @param familyId id of the new family
+     * @param tokenId  {@code jti} of the first refresh token in the family
+     */
+    void register(String familyId, String tokenId);
+
+    /**
+     * Atomically replaces the family's current token if {@code tokenId} is still the current one.
+     * Presenting any older token of the family revokes the whole family.
+     *
+     * @param familyId   family of the presented token
+     * @param tokenId    {@code jti} of the presented token
+     * @param newTokenId {@code jti} of the token issued in its place
+     * @return outcome of the rotation
+     */
+    Rotation rotate(String familyId, String tokenId, String newTokenId);
+
+    /**
+     * Revokes the family, so none of its refresh tokens can be rotated any more.
+     *
+     * @param familyId family to revoke
+     */
+    void revoke(String familyId);
+
+    enum Rotation {
+        /**
+         * The presented token was current and has been replaced.
+         */
+        ROTATED,
+        /**
+         * The presented token had already been rotated; the family is now revoked.
+         */
+        REUSED,
+        /**
+         * The family is unknown, expired or revoked.
+         */
+        UNKNOWN
+    }
+}
@@ -2,117 +2,184 @@ package org.innowise.authservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.innowise.authservice.client.UserClient;
 import org.innowise.authservice.exception.AlreadyExistsException;
 import org.innowise.authservice.exception.NotFoundException;
+import org.innowise.authservice.exception.TooManyRequestsException;
 import org.innowise.authservice.model.Permission;
 import org.innowise.authservice.model.dto.AuthRequest;
 import org.innowise.authservice.model.dto.AuthResponse;
 import org.innowise.authservice.model.dto.RegistrationRequest;
 import org.innowise.authservice.model.dto.TokenRequest;
-import org.innowise.authservice.model.dto.UserDTO;
+import org.innowise.authservice.model.dto.UserRegisteredEvent;
 import org.innowise.authservice.model.entity.Role;
 import org.innowise.authservice.model.entity.User;
 import org.innowise.authservice.repository.RoleRepository;
 import org.innowise.authservice.repository.UserRepository;
 import org.innowise.authservice.service.AuthService;
+import org.innowise.authservice.service.RefreshTokenStore;
+import org.innowise.authservice.util.ApplicationConstant;
 import org.innowise.authservice.util.JwtTokenProvider;
+import org.innowise.authservice.util.VerifiedToken;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Set;
+import java.util.UUID;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CustomAuthService implements AuthService {
+    private static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
+
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
     private final PasswordEncoder encoder;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final UserClient userClient;
+    private final EventOutbox eventOutbox;
+    private final LoginThrottle loginThrottle;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RevocationList revocationList;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    public AuthResponse login(AuthRequest request) {
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(NotFoundException::new);
+    public AuthResponse login(AuthRequest request, String clientAddress) {
+        loginThrottle.check(request.email(), clientAddress);
 
+        User user = userRepository.findByEmail(request.email()).orElse(null);
+        if (user == null) {
+            loginThrottle.recordFailure(request.email(), clientAddress);
+            throw new NotFoundException();
+        }
         if (!encoder.matches(request.password(), user.getPasswordHash())) {
+            loginThrottle.recordFailure(request.email(), clientAddress);
             throw new BadCredentialsException("Invalid credentials");
         }
+        loginThrottle.recordSuccess(request.email());
+        upgradePasswordHash(user, request.password());
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername(request.email());
 
-        return new AuthResponse(
-                jwtTokenProvider.generateAccessToken(userDetails),
-                jwtTokenProvider.generateRefreshToken(userDetails)
-        );
+        return issueTokens(userDetails);
     }
 
+    /**
+     * Hashes the password before the transaction starts, so the slow hash does not hold a pooled connection;
+     * only the insert and the outbox event share the transaction.
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public AuthResponse register(RegistrationRequest registrationRequest) {
         if (userRepository.existsByEmail(registrationRequest.email())) {
             throw new AlreadyExistsException(registrationRequest.email());
         }
 
-        UserDTO createdUser = null;
-        try {
-            createdUser = userClient.createUser(new UserDTO(null, registrationRequest.email(), registrationRequest.name(), registrationRequest.surname(), registrationRequest.birthDate()));
+        Role userRole = roleRepository.findByName(Permission.ROLE_USER)
+                .orElseThrow(NotFoundException::new);
 
-            Role userRole = roleRepository.findByName(Permission.ROLE_USER)
-                    .orElseThrow(NotFoundException::new);
+        User user = new User();
+        user.setEmail(registrationRequest.email());
+        user.setPasswordHash(encoder.encode(registrationRequest.password()));
+        user.setRoles(Set.of(userRole));
 
-            User user = new User();
-            user.setId(createdUser.id());
-            user.setEmail(registrationRequest.email());
-            user.setPasswordHash(encoder.encode(registrationRequest.password()));
-            user.setRoles(Set.of(userRole));
+        transactionTemplate.executeWithoutResult(status -> {
+            User savedUser = userRepository.save(user);
+            eventOutbox.enqueue(ApplicationConstant.TOPIC_USER_REGISTERED, String.valueOf(savedUser.getId()),
+                    new UserRegisteredEvent(savedUser.getId(), registrationRequest.email(),
+                            registrationRequest.name(), registrationRequest.surname(),
+                            registrationRequest.birthDate()));
+        });
 
-            userRepository.save(user);
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(registrationRequest.email());
+        return issueTokens(userDetails);
+    }
+
+    @Override
+    public AuthResponse refresh(TokenRequest request) {
+        VerifiedToken token = jwtTokenProvider.verify(request.token())
+                .filter(VerifiedToken::isRefreshToken)
+                .filter(verified -> verified.familyId() != null && verified.tokenId() != null)
+                .orElseThrow(() -> new AccessDeniedException(INVALID_REFRESH_TOKEN));
 
-        } catch (Exception e) {
-            if (createdUser != null && createdUser.id() != null) {
-                try {
-                    userClient.deleteUserById(createdUser.id());
-                } catch (Exception rollbackEx) {
-                    log.error("Rollback failed: could not delete user in user-service", rollbackEx);
-                }
-            }
-            throw new RuntimeException("Failed to register user", e);
+        UserDetails userDetails = userDetailsCache.get(token.subject());
+
+        String tokenId = newId();
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(token.familyId(), token.tokenId(), tokenId);
+        if (rotation == RefreshTokenStore.Rotation.REUSED) {
+            log.warn("Refresh token reuse detected for {}, revoked token family {}", token.subject(), token.familyId());
+        }
+        if (rotation != RefreshTokenStore.Rotation.ROTATED) {
+            throw new AccessDeniedException(INVALID_REFRESH_TOKEN);
         }
 
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(registrationRequest.email());
         return new AuthResponse(
                 jwtTokenProvider.generateAccessToken(userDetails),
-                jwtTokenProvider.generateRefreshToken(userDetails)
+                jwtTokenProvider.generateRefreshToken(userDetails, token.familyId(), tokenId)
         );
     }
 
     @Override
-    public AuthResponse refresh(TokenRequest request) {
-        String token = request.token();
+    public boolean validate(TokenRequest tokenRequest) {
+        return jwtTokenProvider.verify(tokenRequest.token())
+                .filter(token -> !token.isAccessToken() || !revocationList.isRevoked(token.tokenId()))
+                .isPresent();
+    }
 
-        if (!jwtTokenProvider.validateToken(token) || !jwtTokenProvider.isRefreshToken(token)) {
-            throw new AccessDeniedException("Invalid or expired refresh token");
+    @Override
+    public void revoke(TokenRequest request, Authentication authentication) {
+        VerifiedToken token = jwtTokenProvider.verify(request.token()).orElse(null);
+        if (token == null) {
+            return;
         }
+        if (!token.subject().equals(authentication.getName()) && !isAdmin(authentication)) {
+            throw new AccessDeniedException(ApplicationConstant.ACCESS_DENIED);
+        }
+
+        if (token.isRefreshToken() && token.familyId() != null) {
+            refreshTokenStore.revoke(token.familyId());
+            log.info("Revoked refresh token family {} of {}", token.familyId(), token.subject());
+        } else if (token.isAccessToken() && token.tokenId() != null) {
+            revocationList.revoke(token.tokenId(), token.expiresAt());
+            log.info("Revoked access token {} of {}", token.tokenId(), token.subject());
+        }
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> Permission.ROLE_ADMIN.name().equals(authority.getAuthority()));
+    }
 
-        String username = jwtTokenProvider.extractUsername(token);
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+    private AuthResponse issueTokens(UserDetails userDetails) {
+        String familyId = newId();
+        String tokenId = newId();
+        refreshTokenStore.register(familyId, tokenId);
 
         return new AuthResponse(
                 jwtTokenProvider.generateAccessToken(userDetails),
-                jwtTokenProvider.generateRefreshToken(userDetails)
+                jwtTokenProvider.generateRefreshToken(userDetails, familyId, tokenId)
         );
     }
 
-    @Override
-    public boolean validate(TokenRequest tokenRequest) {
-        return jwtTokenProvider.validateToken(tokenRequest.token());
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    private void upgradePasswordHash(User user, String password) {
+        if (!encoder.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            user.setPasswordHash(encoder.encode(password));
+            userRepository.save(user);
+            log.info("Upgraded password hash of user {}", user.getId());
+        } catch (TooManyRequestsException e) {
+            log.debug("Skipped password hash upgrade of user {}: hashing pool is saturated", user.getId());
+        }
     }
 }
@@ -1,9 +1,11 @@
 package org.innowise.authservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.innowise.authservice.model.UserPrincipal;
 import org.innowise.authservice.model.entity.Role;
 import org.innowise.authservice.model.entity.User;
 import org.innowise.authservice.repository.UserRepository;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,11 +23,8 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException(username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash())
-                .authorities(getAuthorities(user.getRoles()))
-                .build();
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPasswordHash(),
+                AuthorityUtils.createAuthorityList(getAuthorities(user.getRoles())));
     }
 
     private String[] getAuthorities(Set<Role> roles) {
@@ -0,0 +1,113 @@
+package org.innowise.authservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.authservice.model.entity.OutboxEvent;
+import org.innowise.authservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transactional outbox for events other services must see. {@link #enqueue} stores the event in the caller's
+ * transaction, so it is published exactly when the business change commits; every
+ * {@code app.outbox.poll-interval} the oldest pending events are sent to Kafka and deleted once the broker
+ * acknowledged them. One relay hands its batch to the producer in id order, but relays on other instances
+ * skip the rows it has locked and may publish newer events first, so consumers must not rely on ordering
+ * across keys or events. Delivery is at least once: an event whose send or delete failed is sent again, so
+ * consumers must be idempotent.
+ */
+@Slf4j
+@Component
+public class EventOutbox {
+    private static final String PUBLISHED_COUNTER = "auth.outbox.published";
+    private static final String FAILED_COUNTER = "auth.outbox.failed";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter published;
+    private final Counter failed;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${app.outbox.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.send-timeout:10s}") Duration sendTimeout,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.published = meterRegistry.counter(PUBLISHED_COUNTER);
+        this.failed = meterRegistry.counter(FAILED_COUNTER);
+    }
+
+    /**
+     * Stores the event for publishing; must run inside the transaction that makes the change it describes.
+     *
+     * @param topic Kafka topic
+     * @param key   record key, events with the same key are published in order
+     * @param event payload, serialized as JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(topic, key, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event " + event, e);
+        }
+    }
+
+    /**
+     * Hands the oldest pending events to the producer at once and waits for their acknowledgements against a
+     * single {@code app.outbox.send-timeout} deadline, so the row locks and the connection are held for about
+     * one broker round trip. Events acknowledged before the first failure are deleted; that event and
+     * everything after it stay pending for the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1s}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> batch = outboxEventRepository.lockOldest(batchSize);
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getKey(), event.getPayload()));
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        int acknowledged = 0;
+        try {
+            for (CompletableFuture<?> send : sends) {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            failed.increment();
+            log.warn("Publishing outbox event {} failed, retrying on the next run: {}",
+                    batch.get(acknowledged).getId(), e.getMessage());
+        }
+
+        List<OutboxEvent> sent = batch.subList(0, acknowledged);
+        outboxEventRepository.deleteAllInBatch(sent);
+        published.increment(sent.size());
+    }
+}
@@ -0,0 +1,74 @@
+package org.innowise.authservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.innowise.authservice.service.LoginAttemptStore;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * {@link LoginAttemptStore} kept in service memory, so every instance throttles on its own share of the
+ * traffic. Keys live in a bounded cache and are dropped two windows after their last failure, or earlier
+ * when more than {@code maxKeys} keys are tracked.
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+    private final Cache<String, Counter> counters;
+    private final long windowMillis;
+    private final Clock clock;
+
+    public InMemoryLoginAttemptStore(Duration window, long maxKeys, Clock clock) {
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(window.multipliedBy(2))
+                .build();
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public double failures(String key) {
+        Counter counter = counters.getIfPresent(key);
+        return counter != null ? counter.estimate(clock.millis(), windowMillis) : 0;
+    }
+
+    @Override
+    public double recordFailure(String key) {
+        long now = clock.millis();
+        return counters.asMap()
+                .compute(key, (k, counter) -> (counter != null ? counter : new Counter()).increment(now, windowMillis))
+                .estimate(now, windowMillis);
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.invalidate(key);
+    }
+
+    private static final class Counter {
+        private long window;
+        private long previous;
+        private long current;
+
+        synchronized Counter increment(long now, long windowMillis) {
+            roll(now / windowMillis);
+            current++;
+            return this;
+        }
+
+        synchronized double estimate(long now, long windowMillis) {
+            roll(now / windowMillis);
+            double previousWeight = 1 - (double) (now % windowMillis) / windowMillis;
+            return previous * previousWeight + current;
+        }
+
+        private void roll(long nowWindow) {
+            if (nowWindow == window) {
+                return;
+            }
+            previous = nowWindow == window + 1 ? current : 0;
+            current = 0;
+            window = nowWindow;
+        }
+    }
+}
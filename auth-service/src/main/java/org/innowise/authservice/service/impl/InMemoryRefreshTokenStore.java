@@ -0,0 +1,48 @@
+package org.innowise.authservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.innowise.authservice.service.RefreshTokenStore;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link RefreshTokenStore} kept in service memory, for tests and single-instance setups.
+ * Families live in a bounded cache; when it overflows, the least recently used families are dropped
+ * and their holders have to log in again.
+ */
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private final Cache<String, String> families;
+
+    public InMemoryRefreshTokenStore(Duration ttl, long maxFamilies) {
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maxFamilies)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public void register(String familyId, String tokenId) {
+        families.put(familyId, tokenId);
+    }
+
+    @Override
+    public Rotation rotate(String familyId, String tokenId, String newTokenId) {
+        AtomicReference<Rotation> rotation = new AtomicReference<>(Rotation.UNKNOWN);
+        families.asMap().computeIfPresent(familyId, (family, current) -> {
+            if (current.equals(tokenId)) {
+                rotation.set(Rotation.ROTATED);
+                return newTokenId;
+            }
+            rotation.set(Rotation.REUSED);
+            return null;
+        });
+        return rotation.get();
+    }
+
+    @Override
+    public void revoke(String familyId) {
+        families.invalidate(familyId);
+    }
+}
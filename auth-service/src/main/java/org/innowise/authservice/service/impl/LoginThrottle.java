@@ -0,0 +1,108 @@
+package org.innowise.authservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.authservice.exception.TooManyRequestsException;
+import org.innowise.authservice.service.LoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Rejects logins for an account or from a client address that failed too often within the last
+ * {@code app.security.login-throttling.window}, before the user is loaded and the password is hashed, so a
+ * brute-force or credential-stuffing burst costs one counter lookup per attempt instead of a password hash.
+ * <p>
+ * Unknown emails count like wrong passwords. A successful login clears the account's failures but not the
+ * address's, so an attacker cannot reset the address limit by logging into an account of their own.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+    private static final String REJECTED_COUNTER = "auth.login.throttled";
+    private static final String LOCKOUT_COUNTER = "auth.login.lockouts";
+    private static final String SCOPE_TAG = "scope";
+    private static final String ACCOUNT_SCOPE = "account";
+    private static final String ADDRESS_SCOPE = "address";
+    private static final String ACCOUNT_PREFIX = "account:";
+    private static final String ADDRESS_PREFIX = "address:";
+
+    private final LoginAttemptStore loginAttemptStore;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxAccountFailures;
+    private final int maxAddressFailures;
+    private final Counter accountRejections;
+    private final Counter addressRejections;
+    private final Counter accountLockouts;
+    private final Counter addressLockouts;
+
+    public LoginThrottle(LoginAttemptStore loginAttemptStore,
+                         @Value("${app.security.login-throttling.enabled:true}") boolean enabled,
+                         @Value("${app.security.login-throttling.window:15m}") Duration window,
+                         @Value("${app.security.login-throttling.max-account-failures:5}") int maxAccountFailures,
+                         @Value("${app.security.login-throttling.max-address-failures:50}") int maxAddressFailures,
+                         MeterRegistry meterRegistry) {
+        this.loginAttemptStore = loginAttemptStore;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxAddressFailures = maxAddressFailures;
+        this.accountRejections = meterRegistry.counter(REJECTED_COUNTER, SCOPE_TAG, ACCOUNT_SCOPE);
+        this.addressRejections = meterRegistry.counter(REJECTED_COUNTER, SCOPE_TAG, ADDRESS_SCOPE);
+        this.accountLockouts = meterRegistry.counter(LOCKOUT_COUNTER, SCOPE_TAG, ACCOUNT_SCOPE);
+        this.addressLockouts = meterRegistry.counter(LOCKOUT_COUNTER, SCOPE_TAG, ADDRESS_SCOPE);
+    }
+
+    /**
+     * @throws TooManyRequestsException if the account or the address is over its failure limit
+     */
+    public void check(String email, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        if (loginAttemptStore.failures(accountKey(email)) >= maxAccountFailures) {
+            accountRejections.increment();
+            throw new TooManyRequestsException("too many failed logins for the account", window);
+        }
+        if (clientAddress != null && loginAttemptStore.failures(ADDRESS_PREFIX + clientAddress) >= maxAddressFailures) {
+            addressRejections.increment();
+            throw new TooManyRequestsException("too many failed logins from " + clientAddress, window);
+        }
+    }
+
+    public void recordFailure(String email, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        if (crossed(loginAttemptStore.recordFailure(accountKey(email)), maxAccountFailures)) {
+            accountLockouts.increment();
+            log.info("Locked out logins for an account after {} failures", maxAccountFailures);
+        }
+        if (clientAddress != null
+                && crossed(loginAttemptStore.recordFailure(ADDRESS_PREFIX + clientAddress), maxAddressFailures)) {
+            addressLockouts.increment();
+            log.warn("Locked out logins from {} after {} failures", clientAddress, maxAddressFailures);
+        }
+    }
+
+    public void recordSuccess(String email) {
+        if (enabled) {
+            loginAttemptStore.reset(accountKey(email));
+        }
+    }
+
+    /**
+     * True only for the failure that moved the estimate over the limit, so each lockout is counted once.
+     */
+    private static boolean crossed(double failures, int limit) {
+        return failures >= limit && failures - 1 < limit;
+    }
+
+    private static String accountKey(String email) {
+        return ACCOUNT_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package org.innowise.authservice.service.impl;
+
+import org.innowise.authservice.service.LoginAttemptStore;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link LoginAttemptStore} shared by all auth-service instances. Each fixed window of a key is one
+ * counter living for two windows; reading and counting take one round trip each.
+ */
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+    private static final String KEY_PREFIX = "auth:login-failures:";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_SCRIPT = RedisScript.of("""
+            local current = redis.call('INCR', KEYS[2])
+            if current == 1 then
+                redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            end
+            return {redis.call('GET', KEYS[1]) or '0', tostring(current)}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long windowMillis;
+    private final Clock clock;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate, Duration window, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public double failures(String key) {
+        long now = clock.millis();
+        List<String> counts = redisTemplate.opsForValue().multiGet(windowKeys(key, now));
+        return estimate(counts, now);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public double recordFailure(String key) {
+        long now = clock.millis();
+        List<String> counts = redisTemplate.execute(RECORD_SCRIPT, windowKeys(key, now),
+                String.valueOf(windowMillis * 2));
+        return estimate(counts, now);
+    }
+
+    @Override
+    public void reset(String key) {
+        redisTemplate.delete(windowKeys(key, clock.millis()));
+    }
+
+    private List<String> windowKeys(String key, long now) {
+        long window = now / windowMillis;
+        return List.of(KEY_PREFIX + key + ':' + (window - 1), KEY_PREFIX + key + ':' + window);
+    }
+
+    private double estimate(List<String> counts, long now) {
+        if (counts == null) {
+            return 0;
+        }
+        double previousWeight = 1 - (double) (now % windowMillis) / windowMillis;
+        return count(counts.get(0)) * previousWeight + count(counts.get(1));
+    }
+
+    private static long count(String value) {
+        return value != null ? Long.parseLong(value) : 0;
+    }
+}
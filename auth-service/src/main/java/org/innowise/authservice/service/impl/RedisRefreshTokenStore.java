@@ -0,0 +1,57 @@
+package org.innowise.authservice.service.impl;
+
+import org.innowise.authservice.service.RefreshTokenStore;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link RefreshTokenStore} shared by all auth-service instances. A family is one string key holding the
+ * current {@code jti} with the refresh token TTL; rotation is a compare-and-set script, so a refresh costs
+ * one round trip and two concurrent refreshes with the same token cannot both succeed.
+ */
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+    private static final String KEY_PREFIX = "auth:refresh-family:";
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then
+                return 0
+            end
+            if current == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            redis.call('DEL', KEYS[1])
+            return -1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void register(String familyId, String tokenId) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + familyId, tokenId, ttl);
+    }
+
+    @Override
+    public Rotation rotate(String familyId, String tokenId, String newTokenId) {
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(KEY_PREFIX + familyId),
+                tokenId, newTokenId, String.valueOf(ttl.toMillis()));
+        if (result == null || result == 0) {
+            return Rotation.UNKNOWN;
+        }
+        return result > 0 ? Rotation.ROTATED : Rotation.REUSED;
+    }
+
+    @Override
+    public void revoke(String familyId) {
+        redisTemplate.delete(KEY_PREFIX + familyId);
+    }
+}
@@ -0,0 +1,92 @@
+package org.innowise.authservice.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.authservice.model.entity.RevokedToken;
+import org.innowise.authservice.repository.RevokedTokenRepository;
+import org.innowise.common.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Revoked access token ids. The exact set lives in the {@code revoked_tokens} table; every
+ * {@code app.revocation.snapshot-interval} it is pruned of expired ids and rebuilt into a {@link BloomFilter}
+ * snapshot, which this service checks locally and publishes for the gateway and the other services.
+ * A revocation therefore takes effect everywhere within one interval plus the consumers' poll interval.
+ * A snapshot hit is confirmed against the table before a token is treated as revoked here, so a Bloom filter
+ * false positive never rejects a valid token in this service.
+ */
+@Slf4j
+@Component
+public class RevocationList {
+    private static final String ENTRIES_GAUGE = "auth.revocation.entries";
+    private static final String SNAPSHOT_BYTES_GAUGE = "auth.revocation.snapshot.bytes";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int minCapacity;
+    private final double falsePositiveProbability;
+
+    private volatile Snapshot snapshot;
+
+    public RevocationList(RevokedTokenRepository revokedTokenRepository,
+                          @Value("${app.revocation.min-capacity:1024}") int minCapacity,
+                          @Value("${app.revocation.false-positive-probability:0.000001}") double falsePositiveProbability,
+                          MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.minCapacity = minCapacity;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.snapshot = build(List.of());
+
+        Gauge.builder(ENTRIES_GAUGE, this, list -> list.snapshot.entries())
+                .register(meterRegistry);
+        Gauge.builder(SNAPSHOT_BYTES_GAUGE, this, list -> list.snapshot.bytes().length)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the id; it is part of the next snapshot and stays there until the token would have expired.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && snapshot.filter().mightContain(tokenId)
+                && revokedTokenRepository.existsById(tokenId);
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.snapshot-interval:10s}")
+    public void rebuild() {
+        try {
+            Instant now = Instant.now();
+            revokedTokenRepository.deleteExpired(now);
+            snapshot = build(revokedTokenRepository.findActiveIds(now));
+        } catch (DataAccessException e) {
+            log.warn("Keeping previous revocation snapshot, rebuilding it failed: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot build(List<String> tokenIds) {
+        BloomFilter filter = BloomFilter.create(Math.max(tokenIds.size(), minCapacity), falsePositiveProbability);
+        tokenIds.forEach(filter::put);
+        byte[] bytes = filter.toByteArray();
+        return new Snapshot(filter, bytes, '"' + DigestUtils.md5DigestAsHex(bytes) + '"', tokenIds.size());
+    }
+
+    /**
+     * @param etag derived from the encoded filter, so every instance serves the same tag for the same set
+     */
+    public record Snapshot(BloomFilter filter, byte[] bytes, String etag, int entries) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.innowise.authservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.innowise.authservice.model.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache in front of {@link CustomUserDetailsService} for callers that need the current roles
+ * rather than the ones in the token, such as refresh. Entries carry no password hash, so they cannot be
+ * used for credential checks and are not affected by Spring Security erasing credentials.
+ */
+@Component
+public class UserDetailsCache {
+    private static final String CACHE_NAME = "auth.user-details";
+
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(CustomUserDetailsService userDetailsService,
+                            @Value("${app.security.user-details-cache.enabled:true}") boolean enabled,
+                            @Value("${app.security.user-details-cache.ttl:30s}") Duration ttl,
+                            @Value("${app.security.user-details-cache.max-size:10000}") long maxSize,
+                            MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build()
+                : null;
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    public UserDetails get(String username) throws UsernameNotFoundException {
+        return cache != null ? cache.get(username, this::load) : load(username);
+    }
+
+    private UserDetails load(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (userDetails instanceof UserPrincipal principal) {
+            return principal.withoutPassword();
+        }
+        return User.withUserDetails(userDetails)
+                .password("")
+                .build();
+    }
+}
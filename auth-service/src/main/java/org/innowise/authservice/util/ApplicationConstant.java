@@ -4,8 +4,9 @@ public class ApplicationConstant {
     private ApplicationConstant() {
     }
 
-    public static final String INTERNAL_HEADER = "X-INTERNAL-AUTH";
     public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String CLIENT_ADDRESS_HEADER = "X-Client-Address";
+    public static final String CLIENT_ADDRESS_SIGNATURE_HEADER = "X-Client-Address-Signature";
     public static final String ID = "id";
     public static final String BEARER_PREFIX = "Bearer ";
     public static final int BEARER_PREFIX_LENGTH = BEARER_PREFIX.length();
@@ -17,6 +18,7 @@ public class ApplicationConstant {
     public static final String ENTITY_NOT_FOUND = "Entity not found";
     public static final String ENTITY_ALREADY_EXISTS = "Entity already exists";
     public static final String ACCESS_DENIED = "Access denied";
+    public static final String TOO_MANY_REQUESTS = "Too many authentication requests, try again later";
 
     public static final String NOT_FOUND_ERROR_CODE = "NOT_FOUND";
     public static final String VALIDATION_ERROR_CODE = "VALIDATION";
@@ -25,4 +27,9 @@ public class ApplicationConstant {
     public static final String ACCESS_DENIED_ERROR_CODE = "ACCESS_DENIED";
     public static final String AUTHENTICATION_FAILED_ERROR_CODE = "AUTHENTICATION_FAILED";
     public static final String JWT_FAILED_ERROR_CODE = "JWT_FAILED";
+    public static final String TOO_MANY_REQUESTS_ERROR_CODE = "TOO_MANY_REQUESTS";
+
+    public static final String TOPIC_USER_REGISTERED = "USER_REGISTERED";
+    public static final int PARTITION_COUNT = 1;
+    public static final short REPLICATION_FACTOR = 1;
 }
@@ -0,0 +1,117 @@
+package org.innowise.authservice.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.innowise.authservice.exception.TooManyRequestsException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the delegate's hashing on a dedicated, bounded executor, so a burst of logins cannot occupy
+ * every core and slow down token endpoints. The request thread waits for the result; when the
+ * executor's queue is full the call fails immediately with a {@link TooManyRequestsException}.
+ * <p>
+ * The encoder owns its executor and shuts it down on {@link #destroy()}. The pool is deliberately not a bean:
+ * an {@code Executor} bean in the context would replace Boot's {@code applicationTaskExecutor}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private static final String EXECUTOR_NAME = "password-hashing";
+    private static final String HASH_TIMER = "auth.password.hash";
+    private static final String REJECTED_COUNTER = "auth.password.hash.rejected";
+    private static final String OPERATION_TAG = "operation";
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration retryAfter;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.retryAfter = retryAfter;
+        this.encodeTimer = Timer.builder(HASH_TIMER)
+                .tag(OPERATION_TAG, "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(HASH_TIMER)
+                .tag(OPERATION_TAG, "matches")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter(REJECTED_COUNTER);
+    }
+
+    /**
+     * Creates an encoder on its own pool of {@code poolSize} threads with room for {@code queueCapacity} waiting
+     * calls, or none when the capacity is not positive.
+     */
+    public static BoundedPasswordEncoder withPool(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                                  Duration retryAfter, MeterRegistry meterRegistry) {
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory(EXECUTOR_NAME + "-"), new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Collections.emptyList()).bindTo(meterRegistry);
+        return new BoundedPasswordEncoder(delegate, executor, retryAfter, meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.innowise.authservice.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.innowise.common.util.HeaderSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves the address of the client behind a request. Requests routed through the api-gateway all arrive
+ * from the gateway, so it forwards the client's address as an HMAC-signed {@code X-Client-Address} header;
+ * without a valid signature the connection's remote address is used.
+ */
+@Component
+public class ClientAddressResolver {
+    private final HeaderSignature headerSignature;
+
+    public ClientAddressResolver(@Value("${app.identity.secret}") String secret) {
+        this.headerSignature = new HeaderSignature(secret);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String address = request.getHeader(ApplicationConstant.CLIENT_ADDRESS_HEADER);
+        String signature = request.getHeader(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER);
+        if (StringUtils.hasText(address) && signature != null && headerSignature.verify(signature, address)) {
+            return address;
+        }
+        return request.getRemoteAddr();
+    }
+}
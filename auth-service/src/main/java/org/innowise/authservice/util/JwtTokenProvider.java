@@ -2,37 +2,112 @@ package org.innowise.authservice.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.innowise.authservice.model.UserPrincipal;
+import org.innowise.common.util.JsonWebKeys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
-
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies the service's JWTs. With {@code app.jwt.algorithm=ES256}, the default, tokens are signed
+ * with an EC P-256 key whose public half is published as a JWKS, so verifiers need no shared secret; HS256 tokens
+ * keep verifying with {@code app.jwt.secret} until they expire, which lets the algorithm be switched in place.
+ */
 @Slf4j
 @Component
 public class JwtTokenProvider {
     @Value("${app.jwt.secret}")
     private String jwtSecret;
+    @Value("${app.jwt.key-id:}")
+    private String keyId;
+    @Value("${app.jwt.algorithm:ES256}")
+    private String algorithm;
+    @Value("${app.jwt.ec.private-key-file:}")
+    private String ecPrivateKeyFile;
+    @Value("${app.jwt.ec.public-key-file:}")
+    private String ecPublicKeyFile;
     @Value("${app.jwt.access-token-expiration}")
     private long accessTokenExpiration;
     @Value("${app.jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
-    private static final String TOKEN_TYPE_ACCESS = "ACCESS";
-    private static final String TOKEN_TYPE_REFRESH = "REFRESH";
+    private static final String CLAIM_USER_ID = "uid";
     private static final String CLAIM_ROLES = "roles";
     private static final String CLAIM_TYPE = "type";
+    private static final String CLAIM_FAMILY = "fid";
+    private static final String JWKS_KEYS = "keys";
+    private static final String EC_KEY_ALGORITHM = "EC";
+    private static final String PEM_BOUNDARY = "-----(BEGIN|END) [A-Z ]+-----";
+
+    private SignatureAlgorithm signatureAlgorithm;
+    private Key signingKey;
+    private String signingKeyId;
+    private SecretKey hmacKey;
+    private ECPublicKey publicKey;
+    private Map<String, Object> jsonWebKeySet;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        hmacKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+
+        if (signatureAlgorithm == SignatureAlgorithm.ES256) {
+            KeyPair keyPair = loadOrGenerateKeyPair();
+            signingKey = keyPair.getPrivate();
+            publicKey = (ECPublicKey) keyPair.getPublic();
+            signingKeyId = keyId.isBlank() ? JsonWebKeys.thumbprint(publicKey) : keyId;
+            jsonWebKeySet = Map.of(JWKS_KEYS, List.of(JsonWebKeys.toJwk(publicKey, signingKeyId)));
+        } else if (signatureAlgorithm == SignatureAlgorithm.HS256) {
+            signingKey = hmacKey;
+            signingKeyId = keyId.isBlank() ? null : keyId;
+            jsonWebKeySet = Map.of(JWKS_KEYS, List.of());
+        } else {
+            throw new IllegalStateException("Unsupported app.jwt.algorithm: " + algorithm);
+        }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header);
+                    }
+                })
+                .build();
     }
 
-    private String buildToken(UserDetails userDetails, long expiration, String type) {
+    /**
+     * Public keys of this issuer as an RFC 7517 key set; empty while signing with HS256.
+     */
+    public Map<String, Object> getJsonWebKeySet() {
+        return jsonWebKeySet;
+    }
+
+    private JwtBuilder buildToken(UserDetails userDetails, long expiration, String type) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
@@ -40,63 +115,113 @@ public class JwtTokenProvider {
                 .map(GrantedAuthority::getAuthority)
                 .toList();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .claim(CLAIM_ROLES, authorities)
                 .claim(CLAIM_TYPE, type)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, signatureAlgorithm);
+        if (userDetails instanceof UserPrincipal principal && principal.getId() != null) {
+            builder.claim(CLAIM_USER_ID, principal.getId());
+        }
+        if (signingKeyId != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKeyId);
+        }
+        return builder;
     }
 
+    /**
+     * Issues an access token with a random {@code jti}, the id under which it can be revoked.
+     *
+     * @param userDetails token owner
+     * @return compact JWT
+     */
     public String generateAccessToken(UserDetails userDetails) {
-        return buildToken(userDetails, accessTokenExpiration, TOKEN_TYPE_ACCESS);
+        return buildToken(userDetails, accessTokenExpiration, VerifiedToken.TYPE_ACCESS)
+                .setId(UUID.randomUUID().toString())
+                .compact();
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(userDetails, refreshTokenExpiration, TOKEN_TYPE_REFRESH);
+    /**
+     * Issues a refresh token belonging to a rotation family.
+     *
+     * @param userDetails token owner
+     * @param familyId    id shared by every refresh token rotated from the same login
+     * @param tokenId     unique id of this token, written as {@code jti}
+     * @return compact JWT
+     */
+    public String generateRefreshToken(UserDetails userDetails, String familyId, String tokenId) {
+        return buildToken(userDetails, refreshTokenExpiration, VerifiedToken.TYPE_REFRESH)
+                .setId(tokenId)
+                .claim(CLAIM_FAMILY, familyId)
+                .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Parses the token once and checks its signature and expiry.
+     *
+     * @param token compact JWT
+     * @return the verified claims, or empty if the token is malformed, expired or not signed with our key
+     */
+    public Optional<VerifiedToken> verify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get(CLAIM_TYPE, String.class),
+                    getRoles(claims),
+                    claims.getId(),
+                    claims.get(CLAIM_FAMILY, String.class),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            ));
         } catch (JwtException | IllegalArgumentException e) {
             log.warn("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
 
-    public boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractAllClaims(token).getExpiration();
-            return expiration.before(new Date());
-        } catch (JwtException e) {
-            return true;
-        }
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+    private Key resolve(JwsHeader<?> header) {
+        if (SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+            if (publicKey == null || !signingKeyId.equals(header.getKeyId())) {
+                throw new UnsupportedJwtException("Unknown JWT key id: " + header.getKeyId());
+            }
+            return publicKey;
+        }
+        return hmacKey;
     }
 
-    public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private KeyPair loadOrGenerateKeyPair() {
+        if (ecPrivateKeyFile.isBlank() || ecPublicKeyFile.isBlank()) {
+            log.warn("No EC key files configured, signing with a generated key that is lost on restart");
+            return Keys.keyPairFor(SignatureAlgorithm.ES256);
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(EC_KEY_ALGORITHM);
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(ecPrivateKeyFile)));
+            PublicKey verificationKey = keyFactory.generatePublic(new X509EncodedKeySpec(readPem(ecPublicKeyFile)));
+            return new KeyPair(verificationKey, privateKey);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load the EC signing key", e);
+        }
     }
 
-    public boolean isRefreshToken(String token) {
-        return TOKEN_TYPE_REFRESH.equals(extractAllClaims(token).get(CLAIM_TYPE));
+    private static byte[] readPem(String file) throws IOException {
+        return Base64.getMimeDecoder().decode(Files.readString(Path.of(file)).replaceAll(PEM_BOUNDARY, ""));
     }
 
-    public boolean isAccessToken(String token) {
-        return TOKEN_TYPE_ACCESS.equals(extractAllClaims(token).get(CLAIM_TYPE));
+    private static List<String> getRoles(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        if (roles instanceof Collection<?> values) {
+            return values.stream()
+                    .map(String::valueOf)
+                    .toList();
+        }
+        return List.of();
     }
-}
\ No newline at end of file
+}
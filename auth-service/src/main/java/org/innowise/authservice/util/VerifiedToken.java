@@ -0,0 +1,33 @@
+package org.innowise.authservice.util;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked by {@link JwtTokenProvider#verify}.
+ * Immutable, so it can be handed around for the rest of the request instead of parsing the token again.
+ */
+public record VerifiedToken(
+        String subject,
+        String type,
+        List<String> roles,
+        String tokenId,
+        String familyId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public static final String TYPE_ACCESS = "ACCESS";
+    public static final String TYPE_REFRESH = "REFRESH";
+
+    public VerifiedToken {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+}
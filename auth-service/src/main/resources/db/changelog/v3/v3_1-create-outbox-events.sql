@@ -0,0 +1,8 @@
+CREATE TABLE outbox_events
+(
+    id          BIGSERIAL PRIMARY KEY,
+    topic       VARCHAR(255)             NOT NULL,
+    message_key VARCHAR(255)             NOT NULL,
+    payload     TEXT                     NOT NULL,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
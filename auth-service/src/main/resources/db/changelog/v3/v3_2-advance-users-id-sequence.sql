@@ -0,0 +1,3 @@
+SELECT setval(pg_get_serial_sequence('users', 'id'),
+              GREATEST(COALESCE((SELECT MAX(id) FROM users), 0) + 1, ${usersIdStart}),
+              false);
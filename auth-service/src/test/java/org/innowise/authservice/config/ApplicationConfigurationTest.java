@@ -0,0 +1,46 @@
+package org.innowise.authservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationConfigurationTest {
+    private static final String PASSWORD = "password123";
+
+    @Test
+    void delegatingPasswordEncoder_WithUnprefixedBcryptHash_ShouldMatchAndRequestUpgrade() {
+        PasswordEncoder encoder = ApplicationConfiguration.delegatingPasswordEncoder("bcrypt", 4, 1_000);
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertTrue(encoder.matches(PASSWORD, legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void delegatingPasswordEncoder_WithLowerBcryptStrength_ShouldRequestUpgrade() {
+        String weakHash = ApplicationConfiguration.delegatingPasswordEncoder("bcrypt", 4, 1_000).encode(PASSWORD);
+        PasswordEncoder encoder = ApplicationConfiguration.delegatingPasswordEncoder("bcrypt", 5, 1_000);
+        String currentHash = encoder.encode(PASSWORD);
+
+        assertTrue(weakHash.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches(PASSWORD, weakHash));
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+    }
+
+    @Test
+    void delegatingPasswordEncoder_WithPbkdf2Profile_ShouldMigrateBcryptHashes() {
+        String bcryptHash = ApplicationConfiguration.delegatingPasswordEncoder("bcrypt", 4, 1_000).encode(PASSWORD);
+        PasswordEncoder encoder = ApplicationConfiguration.delegatingPasswordEncoder("pbkdf2", 4, 1_000);
+        String pbkdf2Hash = encoder.encode(PASSWORD);
+
+        assertTrue(pbkdf2Hash.startsWith("{pbkdf2}"));
+        assertTrue(encoder.matches(PASSWORD, pbkdf2Hash));
+        assertTrue(encoder.matches(PASSWORD, bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+        assertFalse(encoder.upgradeEncoding(pbkdf2Hash));
+    }
+}
@@ -0,0 +1,99 @@
+package org.innowise.authservice.config.filter;
+
+import org.innowise.authservice.model.PrincipalSource;
+import org.innowise.authservice.service.impl.RevocationList;
+import org.innowise.authservice.service.impl.UserDetailsCache;
+import org.innowise.authservice.util.ApplicationConstant;
+import org.innowise.authservice.util.JwtTokenProvider;
+import org.innowise.authservice.util.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+    private static final String TOKEN = "access-token";
+    private static final String EMAIL = "test@example.com";
+    private static final String TOKEN_ID = "token-1";
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private RevocationList revocationList;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithClaimsSource_ShouldAuthenticateFromTokenWithoutLookup() throws Exception {
+        when(jwtTokenProvider.verify(TOKEN)).thenReturn(Optional.of(accessToken("ROLE_USER")));
+
+        filter(PrincipalSource.CLAIMS);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(EMAIL, authentication.getName());
+        assertEquals(Set.of("ROLE_USER"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        verify(userDetailsCache, never()).get(anyString());
+    }
+
+    @Test
+    void doFilter_WithDatabaseSource_ShouldUseCachedUserDetails() throws Exception {
+        when(jwtTokenProvider.verify(TOKEN)).thenReturn(Optional.of(accessToken("ROLE_USER")));
+        when(userDetailsCache.get(EMAIL)).thenReturn(new User(EMAIL, "", AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        filter(PrincipalSource.DATABASE);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(Set.of("ROLE_ADMIN"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+    }
+
+    @Test
+    void doFilter_WithRevokedToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        when(jwtTokenProvider.verify(TOKEN)).thenReturn(Optional.of(accessToken("ROLE_USER")));
+        when(revocationList.isRevoked(TOKEN_ID)).thenReturn(true);
+
+        filter(PrincipalSource.CLAIMS);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private void filter(PrincipalSource principalSource) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ApplicationConstant.AUTHORIZATION_HEADER, ApplicationConstant.BEARER_PREFIX + TOKEN);
+        new JwtAuthenticationFilter(jwtTokenProvider, userDetailsCache, revocationList, principalSource)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private static VerifiedToken accessToken(String... roles) {
+        Instant now = Instant.now();
+        return new VerifiedToken(EMAIL, VerifiedToken.TYPE_ACCESS, List.of(roles), TOKEN_ID, null, now, now.plusSeconds(60));
+    }
+}
@@ -2,16 +2,21 @@ package org.innowise.authservice.service.impl;
 
 import org.innowise.authservice.exception.AlreadyExistsException;
 import org.innowise.authservice.exception.NotFoundException;
+import org.innowise.authservice.exception.TooManyRequestsException;
 import org.innowise.authservice.model.Permission;
 import org.innowise.authservice.model.dto.AuthRequest;
 import org.innowise.authservice.model.dto.AuthResponse;
 import org.innowise.authservice.model.dto.RegistrationRequest;
 import org.innowise.authservice.model.dto.TokenRequest;
+import org.innowise.authservice.model.dto.UserRegisteredEvent;
 import org.innowise.authservice.model.entity.Role;
 import org.innowise.authservice.model.entity.User;
 import org.innowise.authservice.repository.RoleRepository;
 import org.innowise.authservice.repository.UserRepository;
+import org.innowise.authservice.service.RefreshTokenStore;
+import org.innowise.authservice.util.ApplicationConstant;
 import org.innowise.authservice.util.JwtTokenProvider;
+import org.innowise.authservice.util.VerifiedToken;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,10 +24,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -31,6 +45,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -48,16 +65,32 @@ class CustomAuthServiceTest {
     private UserRepository userRepository;
     @Mock
     private RoleRepository roleRepository;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+    @Mock
+    private RevocationList revocationList;
+    @Mock
+    private EventOutbox eventOutbox;
+    @Mock
+    private LoginThrottle loginThrottle;
+    @Mock
+    private TransactionTemplate transactionTemplate;
     @InjectMocks
     private CustomAuthService customAuthService;
 
+    private final Long testUserId = 42L;
     private final String testEmail = "test@example.com";
+    private final String testAddress = "203.0.113.7";
     private final String testPassword = "password123";
     private final String testName = "TestName";
     private final String testSurname = "TestSurname";
     private final String testAccessToken = "access-token";
     private final String testRefreshToken = "refresh-token";
     private final String encodedPassword = "encoded-password";
+    private final String testTokenId = "token-1";
+    private final String testFamilyId = "family-1";
 
     @Test
     void login_WithValidCredentials_ShouldReturnAuthResponse() {
@@ -72,9 +105,9 @@ class CustomAuthServiceTest {
         when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
         when(customUserDetailsService.loadUserByUsername(testEmail)).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(userDetails)).thenReturn(testAccessToken);
-        when(jwtTokenProvider.generateRefreshToken(userDetails)).thenReturn(testRefreshToken);
+        when(jwtTokenProvider.generateRefreshToken(eq(userDetails), anyString(), anyString())).thenReturn(testRefreshToken);
 
-        AuthResponse result = customAuthService.login(authRequest);
+        AuthResponse result = customAuthService.login(authRequest, testAddress);
 
         assertNotNull(result);
         assertEquals(testAccessToken, result.accessToken());
@@ -82,9 +115,55 @@ class CustomAuthServiceTest {
 
         verify(userRepository).findByEmail(testEmail);
         verify(passwordEncoder).matches(testPassword, encodedPassword);
+        verify(loginThrottle).recordSuccess(testEmail);
         verify(customUserDetailsService).loadUserByUsername(testEmail);
         verify(jwtTokenProvider).generateAccessToken(userDetails);
-        verify(jwtTokenProvider).generateRefreshToken(userDetails);
+        verify(jwtTokenProvider).generateRefreshToken(eq(userDetails), anyString(), anyString());
+        verify(refreshTokenStore).register(anyString(), anyString());
+    }
+
+    @Test
+    void login_WithOutdatedHash_ShouldStoreUpgradedHash() {
+        AuthRequest authRequest = new AuthRequest(testEmail, testPassword);
+        User user = new User();
+        user.setEmail(testEmail);
+        user.setPasswordHash(encodedPassword);
+
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(testPassword)).thenReturn("{bcrypt}upgraded-password");
+        when(customUserDetailsService.loadUserByUsername(testEmail)).thenReturn(userDetails);
+
+        customAuthService.login(authRequest, testAddress);
+
+        assertEquals("{bcrypt}upgraded-password", user.getPasswordHash());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void login_WhenUpgradeIsRejected_ShouldKeepHashAndLogIn() {
+        AuthRequest authRequest = new AuthRequest(testEmail, testPassword);
+        User user = new User();
+        user.setEmail(testEmail);
+        user.setPasswordHash(encodedPassword);
+
+        UserDetails userDetails = mock(UserDetails.class);
+
+        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(testPassword)).thenThrow(new TooManyRequestsException(Duration.ofSeconds(1)));
+        when(customUserDetailsService.loadUserByUsername(testEmail)).thenReturn(userDetails);
+        when(jwtTokenProvider.generateAccessToken(userDetails)).thenReturn(testAccessToken);
+
+        AuthResponse result = customAuthService.login(authRequest, testAddress);
+
+        assertEquals(testAccessToken, result.accessToken());
+        assertEquals(encodedPassword, user.getPasswordHash());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -93,13 +172,14 @@ class CustomAuthServiceTest {
 
         when(userRepository.findByEmail(testEmail)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> customAuthService.login(authRequest));
+        assertThrows(NotFoundException.class, () -> customAuthService.login(authRequest, testAddress));
 
         verify(userRepository).findByEmail(testEmail);
+        verify(loginThrottle).recordFailure(testEmail, testAddress);
         verify(passwordEncoder, never()).matches(anyString(), anyString());
         verify(customUserDetailsService, never()).loadUserByUsername(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
-        verify(jwtTokenProvider, never()).generateRefreshToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
     }
 
     @Test
@@ -112,13 +192,29 @@ class CustomAuthServiceTest {
         when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(false);
 
-        assertThrows(BadCredentialsException.class, () -> customAuthService.login(authRequest));
+        assertThrows(BadCredentialsException.class, () -> customAuthService.login(authRequest, testAddress));
 
         verify(userRepository).findByEmail(testEmail);
         verify(passwordEncoder).matches(testPassword, encodedPassword);
+        verify(loginThrottle).recordFailure(testEmail, testAddress);
+        verify(loginThrottle, never()).recordSuccess(anyString());
         verify(customUserDetailsService, never()).loadUserByUsername(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
-        verify(jwtTokenProvider, never()).generateRefreshToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldRejectBeforeLoadingUser() {
+        AuthRequest authRequest = new AuthRequest(testEmail, testPassword);
+
+        doThrow(new TooManyRequestsException("too many failed logins", Duration.ofMinutes(15)))
+                .when(loginThrottle).check(testEmail, testAddress);
+
+        assertThrows(TooManyRequestsException.class, () -> customAuthService.login(authRequest, testAddress));
+
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(loginThrottle, never()).recordFailure(anyString(), anyString());
     }
 
     @Test
@@ -135,10 +231,19 @@ class CustomAuthServiceTest {
         when(userRepository.existsByEmail(testEmail)).thenReturn(false);
         when(roleRepository.findByName(Permission.ROLE_USER)).thenReturn(Optional.of(userRole));
         when(passwordEncoder.encode(testPassword)).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doAnswer(invocation -> {
+            verify(passwordEncoder).encode(testPassword);
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(testUserId);
+            return saved;
+        });
         when(customUserDetailsService.loadUserByUsername(testEmail)).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(userDetails)).thenReturn(testAccessToken);
-        when(jwtTokenProvider.generateRefreshToken(userDetails)).thenReturn(testRefreshToken);
+        when(jwtTokenProvider.generateRefreshToken(eq(userDetails), anyString(), anyString())).thenReturn(testRefreshToken);
 
         AuthResponse result = customAuthService.register(registrationRequest);
 
@@ -150,9 +255,11 @@ class CustomAuthServiceTest {
         verify(roleRepository).findByName(Permission.ROLE_USER);
         verify(passwordEncoder).encode(testPassword);
         verify(userRepository).save(any(User.class));
+        verify(eventOutbox).enqueue(ApplicationConstant.TOPIC_USER_REGISTERED, String.valueOf(testUserId),
+                new UserRegisteredEvent(testUserId, testEmail, testName, testSurname, null));
         verify(customUserDetailsService).loadUserByUsername(testEmail);
         verify(jwtTokenProvider).generateAccessToken(userDetails);
-        verify(jwtTokenProvider).generateRefreshToken(userDetails);
+        verify(jwtTokenProvider).generateRefreshToken(eq(userDetails), anyString(), anyString());
     }
 
     @Test
@@ -170,9 +277,10 @@ class CustomAuthServiceTest {
         verify(roleRepository, never()).findByName(any());
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
+        verify(eventOutbox, never()).enqueue(any(), any(), any());
         verify(customUserDetailsService, never()).loadUserByUsername(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
-        verify(jwtTokenProvider, never()).generateRefreshToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
     }
 
     @Test
@@ -191,9 +299,10 @@ class CustomAuthServiceTest {
         verify(roleRepository).findByName(Permission.ROLE_USER);
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
+        verify(eventOutbox, never()).enqueue(any(), any(), any());
         verify(customUserDetailsService, never()).loadUserByUsername(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
-        verify(jwtTokenProvider, never()).generateRefreshToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
     }
 
     @Test
@@ -201,12 +310,14 @@ class CustomAuthServiceTest {
         TokenRequest tokenRequest = new TokenRequest(testRefreshToken);
         UserDetails userDetails = mock(UserDetails.class);
 
-        when(jwtTokenProvider.validateToken(testRefreshToken)).thenReturn(true);
-        when(jwtTokenProvider.isRefreshToken(testRefreshToken)).thenReturn(true);
-        when(jwtTokenProvider.extractUsername(testRefreshToken)).thenReturn(testEmail);
-        when(customUserDetailsService.loadUserByUsername(testEmail)).thenReturn(userDetails);
+        when(jwtTokenProvider.verify(testRefreshToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_REFRESH)));
+        when(userDetailsCache.get(testEmail)).thenReturn(userDetails);
+        when(refreshTokenStore.rotate(eq(testFamilyId), eq(testTokenId), anyString()))
+                .thenReturn(RefreshTokenStore.Rotation.ROTATED);
         when(jwtTokenProvider.generateAccessToken(userDetails)).thenReturn("new-access-token");
-        when(jwtTokenProvider.generateRefreshToken(userDetails)).thenReturn("new-refresh-token");
+        when(jwtTokenProvider.generateRefreshToken(eq(userDetails), eq(testFamilyId), anyString()))
+                .thenReturn("new-refresh-token");
 
         AuthResponse result = customAuthService.refresh(tokenRequest);
 
@@ -214,52 +325,159 @@ class CustomAuthServiceTest {
         assertEquals("new-access-token", result.accessToken());
         assertEquals("new-refresh-token", result.refreshToken());
 
-        verify(jwtTokenProvider).validateToken(testRefreshToken);
-        verify(jwtTokenProvider).isRefreshToken(testRefreshToken);
-        verify(jwtTokenProvider).extractUsername(testRefreshToken);
-        verify(customUserDetailsService).loadUserByUsername(testEmail);
+        verify(jwtTokenProvider).verify(testRefreshToken);
+        verify(userDetailsCache).get(testEmail);
+        verify(refreshTokenStore).rotate(eq(testFamilyId), eq(testTokenId), anyString());
         verify(jwtTokenProvider).generateAccessToken(userDetails);
-        verify(jwtTokenProvider).generateRefreshToken(userDetails);
     }
 
     @Test
     void refresh_WithInvalidToken_ShouldThrowAccessDeniedException() {
         TokenRequest tokenRequest = new TokenRequest("invalid-token");
 
-        when(jwtTokenProvider.validateToken("invalid-token")).thenReturn(false);
+        when(jwtTokenProvider.verify("invalid-token")).thenReturn(Optional.empty());
 
         assertThrows(AccessDeniedException.class, () -> customAuthService.refresh(tokenRequest));
 
-        verify(jwtTokenProvider).validateToken("invalid-token");
-        verify(jwtTokenProvider, never()).isRefreshToken(anyString());
-        verify(jwtTokenProvider, never()).extractUsername(anyString());
-        verify(customUserDetailsService, never()).loadUserByUsername(anyString());
+        verify(jwtTokenProvider).verify("invalid-token");
+        verify(userDetailsCache, never()).get(anyString());
         verify(jwtTokenProvider, never()).generateAccessToken(any());
-        verify(jwtTokenProvider, never()).generateRefreshToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
+    }
+
+    @Test
+    void refresh_WithRotatedToken_ShouldRevokeFamilyAndThrowAccessDeniedException() {
+        TokenRequest tokenRequest = new TokenRequest(testRefreshToken);
+
+        when(jwtTokenProvider.verify(testRefreshToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_REFRESH)));
+        when(userDetailsCache.get(testEmail)).thenReturn(mock(UserDetails.class));
+        when(refreshTokenStore.rotate(eq(testFamilyId), eq(testTokenId), anyString()))
+                .thenReturn(RefreshTokenStore.Rotation.REUSED);
+
+        assertThrows(AccessDeniedException.class, () -> customAuthService.refresh(tokenRequest));
+
+        verify(jwtTokenProvider, never()).generateAccessToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
+    }
+
+    @Test
+    void refresh_WithAccessToken_ShouldThrowAccessDeniedException() {
+        TokenRequest tokenRequest = new TokenRequest(testAccessToken);
+
+        when(jwtTokenProvider.verify(testAccessToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_ACCESS)));
+
+        assertThrows(AccessDeniedException.class, () -> customAuthService.refresh(tokenRequest));
+
+        verify(userDetailsCache, never()).get(anyString());
+        verify(jwtTokenProvider, never()).generateAccessToken(any());
+        verify(jwtTokenProvider, never()).generateRefreshToken(any(), any(), any());
     }
 
 
     @Test
     void validate_WithValidToken_ShouldReturnTrue() {
-        TokenRequest tokenRequest = new TokenRequest("valid-token");
+        TokenRequest tokenRequest = new TokenRequest(testAccessToken);
 
-        when(jwtTokenProvider.validateToken("valid-token")).thenReturn(true);
+        when(jwtTokenProvider.verify(testAccessToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_ACCESS)));
+        when(revocationList.isRevoked(testTokenId)).thenReturn(false);
 
         boolean result = customAuthService.validate(tokenRequest);
 
         assertTrue(result);
-        verify(jwtTokenProvider).validateToken("valid-token");
+        verify(revocationList).isRevoked(testTokenId);
     }
 
     @Test
     void validate_WithInvalidToken_ShouldReturnFalse() {
         TokenRequest tokenRequest = new TokenRequest("invalid-token");
 
-        when(jwtTokenProvider.validateToken("invalid-token")).thenReturn(false);
+        when(jwtTokenProvider.verify("invalid-token")).thenReturn(Optional.empty());
 
         boolean result = customAuthService.validate(tokenRequest);
 
         assertFalse(result);
-        verify(jwtTokenProvider).validateToken("invalid-token");
+        verify(revocationList, never()).isRevoked(any());
+    }
+
+    @Test
+    void validate_WithRevokedAccessToken_ShouldReturnFalse() {
+        TokenRequest tokenRequest = new TokenRequest(testAccessToken);
+
+        when(jwtTokenProvider.verify(testAccessToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_ACCESS)));
+        when(revocationList.isRevoked(testTokenId)).thenReturn(true);
+
+        boolean result = customAuthService.validate(tokenRequest);
+
+        assertFalse(result);
+    }
+
+    @Test
+    void revoke_WithOwnAccessToken_ShouldAddTokenIdToRevocationList() {
+        VerifiedToken token = verifiedToken(VerifiedToken.TYPE_ACCESS);
+        when(jwtTokenProvider.verify(testAccessToken)).thenReturn(Optional.of(token));
+
+        customAuthService.revoke(new TokenRequest(testAccessToken), authentication(testEmail, Permission.ROLE_USER));
+
+        verify(revocationList).revoke(testTokenId, token.expiresAt());
+        verify(refreshTokenStore, never()).revoke(anyString());
+    }
+
+    @Test
+    void revoke_WithOwnRefreshToken_ShouldRevokeFamily() {
+        when(jwtTokenProvider.verify(testRefreshToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_REFRESH)));
+
+        customAuthService.revoke(new TokenRequest(testRefreshToken), authentication(testEmail, Permission.ROLE_USER));
+
+        verify(refreshTokenStore).revoke(testFamilyId);
+        verify(revocationList, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    void revoke_WithForeignTokenAsAdmin_ShouldAddTokenIdToRevocationList() {
+        VerifiedToken token = verifiedToken(VerifiedToken.TYPE_ACCESS);
+        when(jwtTokenProvider.verify(testAccessToken)).thenReturn(Optional.of(token));
+
+        customAuthService.revoke(new TokenRequest(testAccessToken),
+                authentication("admin@example.com", Permission.ROLE_ADMIN));
+
+        verify(revocationList).revoke(testTokenId, token.expiresAt());
+    }
+
+    @Test
+    void revoke_WithForeignToken_ShouldThrowAccessDeniedException() {
+        when(jwtTokenProvider.verify(testAccessToken))
+                .thenReturn(Optional.of(verifiedToken(VerifiedToken.TYPE_ACCESS)));
+        TokenRequest tokenRequest = new TokenRequest(testAccessToken);
+        Authentication authentication = authentication("other@example.com", Permission.ROLE_USER);
+
+        assertThrows(AccessDeniedException.class, () -> customAuthService.revoke(tokenRequest, authentication));
+
+        verify(revocationList, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    void revoke_WithInvalidToken_ShouldDoNothing() {
+        when(jwtTokenProvider.verify("invalid-token")).thenReturn(Optional.empty());
+
+        customAuthService.revoke(new TokenRequest("invalid-token"), authentication(testEmail, Permission.ROLE_USER));
+
+        verify(revocationList, never()).revoke(anyString(), any());
+        verify(refreshTokenStore, never()).revoke(anyString());
+    }
+
+    private static Authentication authentication(String name, Permission role) {
+        return new UsernamePasswordAuthenticationToken(name, null,
+                AuthorityUtils.createAuthorityList(role.name()));
+    }
+
+    private VerifiedToken verifiedToken(String type) {
+        Instant now = Instant.now();
+        return new VerifiedToken(testEmail, type, List.of(Permission.ROLE_USER.name()), testTokenId, testFamilyId,
+                now, now.plusSeconds(60));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package org.innowise.authservice.service.impl;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.authservice.model.dto.UserRegisteredEvent;
+import org.innowise.authservice.model.entity.OutboxEvent;
+import org.innowise.authservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxTest {
+    private static final String TOPIC = "USER_REGISTERED";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventOutbox eventOutbox;
+
+    @BeforeEach
+    void setUp() {
+        eventOutbox = new EventOutbox(outboxEventRepository, kafkaTemplate,
+                Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build(),
+                100, Duration.ofMillis(200), meterRegistry);
+    }
+
+    @Test
+    void enqueue_ShouldStoreEventAsJson() {
+        eventOutbox.enqueue(TOPIC, "42",
+                new UserRegisteredEvent(42L, "test@example.com", "Test", "User", LocalDate.of(2000, 1, 2)));
+
+        ArgumentCaptor<OutboxEvent> stored = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(stored.capture());
+        assertEquals(TOPIC, stored.getValue().getTopic());
+        assertEquals("42", stored.getValue().getKey());
+        assertEquals("{\"userId\":42,\"email\":\"test@example.com\",\"name\":\"Test\",\"surname\":\"User\","
+                + "\"birthDate\":\"2000-01-02\"}", stored.getValue().getPayload());
+    }
+
+    @Test
+    void relay_WhenAllSendsSucceed_ShouldDeleteTheBatch() {
+        List<OutboxEvent> batch = List.of(event(1L), event(2L));
+        when(outboxEventRepository.lockOldest(100)).thenReturn(batch);
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(sent());
+
+        eventOutbox.relay();
+
+        verify(outboxEventRepository).deleteAllInBatch(batch);
+        assertEquals(2, meterRegistry.get("auth.outbox.published").counter().count());
+    }
+
+    @Test
+    void relay_WhenSendFails_ShouldKeepTheFailedEventAndTheRest() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        OutboxEvent third = event(3L);
+        when(outboxEventRepository.lockOldest(100)).thenReturn(List.of(first, second, third));
+        when(kafkaTemplate.send(TOPIC, "1", "{}")).thenReturn(sent());
+        when(kafkaTemplate.send(TOPIC, "2", "{}"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(TOPIC, "3", "{}")).thenReturn(sent());
+
+        eventOutbox.relay();
+
+        verify(outboxEventRepository).deleteAllInBatch(List.of(first));
+        assertEquals(1, meterRegistry.get("auth.outbox.failed").counter().count());
+    }
+
+    @Test
+    void relay_ShouldSendTheWholeBatchBeforeWaiting() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(outboxEventRepository.lockOldest(100)).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(TOPIC, "1", "{}")).thenReturn(new CompletableFuture<>());
+        when(kafkaTemplate.send(TOPIC, "2", "{}")).thenReturn(sent());
+
+        eventOutbox.relay();
+
+        verify(kafkaTemplate).send(TOPIC, "2", "{}");
+        verify(outboxEventRepository).deleteAllInBatch(List.of());
+        assertEquals(1, meterRegistry.get("auth.outbox.failed").counter().count());
+    }
+
+    private static OutboxEvent event(Long id) {
+        return new OutboxEvent(id, TOPIC, String.valueOf(id), "{}", Instant.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, String>> sent() {
+        return CompletableFuture.completedFuture(mock(SendResult.class));
+    }
+}
@@ -0,0 +1,76 @@
+package org.innowise.authservice.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryLoginAttemptStoreTest {
+    private final MutableClock clock = new MutableClock(Instant.ofEpochSecond(600));
+    private final InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(Duration.ofMinutes(10), 100, clock);
+
+    @Test
+    void recordFailure_WithinOneWindow_ShouldCountEveryFailure() {
+        store.recordFailure("key");
+        store.recordFailure("key");
+
+        assertEquals(3, store.recordFailure("key"));
+        assertEquals(3, store.failures("key"));
+        assertEquals(0, store.failures("other"));
+    }
+
+    @Test
+    void failures_InNextWindow_ShouldWeightPreviousWindowByItsOverlap() {
+        for (int i = 0; i < 4; i++) {
+            store.recordFailure("key");
+        }
+
+        clock.advance(Duration.ofMinutes(12));
+        assertEquals(3.2, store.failures("key"), 1e-9);
+        assertEquals(4.2, store.recordFailure("key"), 1e-9);
+
+        clock.advance(Duration.ofMinutes(20));
+        assertEquals(0, store.failures("key"));
+    }
+
+    @Test
+    void reset_ShouldForgetFailures() {
+        store.recordFailure("key");
+
+        store.reset("key");
+
+        assertEquals(0, store.failures("key"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
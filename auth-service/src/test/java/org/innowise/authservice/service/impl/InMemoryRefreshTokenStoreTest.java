@@ -0,0 +1,34 @@
+package org.innowise.authservice.service.impl;
+
+import org.innowise.authservice.service.RefreshTokenStore.Rotation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryRefreshTokenStoreTest {
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(Duration.ofMinutes(1), 100);
+
+    @Test
+    void rotate_WithCurrentToken_ShouldRotate() {
+        store.register("family", "token-1");
+
+        assertEquals(Rotation.ROTATED, store.rotate("family", "token-1", "token-2"));
+        assertEquals(Rotation.ROTATED, store.rotate("family", "token-2", "token-3"));
+    }
+
+    @Test
+    void rotate_WithRotatedToken_ShouldRevokeWholeFamily() {
+        store.register("family", "token-1");
+        store.rotate("family", "token-1", "token-2");
+
+        assertEquals(Rotation.REUSED, store.rotate("family", "token-1", "token-3"));
+        assertEquals(Rotation.UNKNOWN, store.rotate("family", "token-2", "token-4"));
+    }
+
+    @Test
+    void rotate_WithUnknownFamily_ShouldReturnUnknown() {
+        assertEquals(Rotation.UNKNOWN, store.rotate("family", "token-1", "token-2"));
+    }
+}
@@ -0,0 +1,58 @@
+package org.innowise.authservice.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.authservice.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginThrottleTest {
+    private static final String EMAIL = "test@example.com";
+    private static final String ADDRESS = "203.0.113.7";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginThrottle loginThrottle = new LoginThrottle(
+            new InMemoryLoginAttemptStore(Duration.ofMinutes(15), 100, Clock.systemUTC()),
+            true, Duration.ofMinutes(15), 3, 5, meterRegistry);
+
+    @Test
+    void check_AfterTooManyAccountFailures_ShouldRejectAndCountOneLockout() {
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.recordFailure(EMAIL, ADDRESS);
+        }
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.check(" Test@Example.com", "198.51.100.1"));
+        assertEquals(Duration.ofMinutes(15), exception.getRetryAfter());
+        assertEquals(1, meterRegistry.get("auth.login.lockouts").tag("scope", "account").counter().count());
+        assertEquals(1, meterRegistry.get("auth.login.throttled").tag("scope", "account").counter().count());
+    }
+
+    @Test
+    void check_AfterTooManyAddressFailures_ShouldRejectOtherAccounts() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("user" + i + "@example.com", ADDRESS);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.check(EMAIL, ADDRESS));
+        assertDoesNotThrow(() -> loginThrottle.check(EMAIL, "198.51.100.1"));
+        assertEquals(1, meterRegistry.get("auth.login.throttled").tag("scope", "address").counter().count());
+    }
+
+    @Test
+    void recordSuccess_ShouldClearAccountButNotAddressFailures() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure(EMAIL, ADDRESS);
+        }
+
+        loginThrottle.recordSuccess(EMAIL);
+
+        assertDoesNotThrow(() -> loginThrottle.check(EMAIL, "198.51.100.1"));
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.check(EMAIL, ADDRESS));
+    }
+}
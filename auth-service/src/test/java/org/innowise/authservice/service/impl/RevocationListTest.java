@@ -0,0 +1,86 @@
+package org.innowise.authservice.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.authservice.repository.RevokedTokenRepository;
+import org.innowise.common.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationListTest {
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private RevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new RevocationList(revokedTokenRepository, 1024, 0.000001, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isRevoked_WithIdInSnapshotAndTable_ShouldReturnTrue() {
+        when(revokedTokenRepository.findActiveIds(any())).thenReturn(List.of("token-1"));
+        when(revokedTokenRepository.existsById("token-1")).thenReturn(true);
+        revocationList.rebuild();
+
+        assertTrue(revocationList.isRevoked("token-1"));
+    }
+
+    @Test
+    void isRevoked_WithSnapshotHitMissingFromTable_ShouldReturnFalse() {
+        when(revokedTokenRepository.findActiveIds(any())).thenReturn(List.of("token-1"));
+        when(revokedTokenRepository.existsById("token-1")).thenReturn(false);
+        revocationList.rebuild();
+
+        assertFalse(revocationList.isRevoked("token-1"));
+    }
+
+    @Test
+    void isRevoked_WithSnapshotMiss_ShouldNotQueryTable() {
+        assertFalse(revocationList.isRevoked("token-1"));
+
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void rebuild_ShouldPublishSnapshotReadableByConsumers() {
+        when(revokedTokenRepository.findActiveIds(any())).thenReturn(List.of("token-1", "token-2"));
+        revocationList.rebuild();
+
+        RevocationList.Snapshot snapshot = revocationList.getSnapshot();
+        BloomFilter published = BloomFilter.readFrom(snapshot.bytes());
+
+        assertEquals(2, snapshot.entries());
+        assertTrue(published.mightContain("token-1"));
+        assertTrue(published.mightContain("token-2"));
+        assertArrayEquals(snapshot.filter().toByteArray(), snapshot.bytes());
+    }
+
+    @Test
+    void rebuild_WhenDatabaseFails_ShouldKeepPreviousSnapshot() {
+        when(revokedTokenRepository.findActiveIds(any())).thenReturn(List.of("token-1"));
+        revocationList.rebuild();
+        RevocationList.Snapshot previous = revocationList.getSnapshot();
+
+        when(revokedTokenRepository.findActiveIds(any())).thenThrow(new DataAccessResourceFailureException("down"));
+        revocationList.rebuild();
+
+        assertEquals(previous, revocationList.getSnapshot());
+    }
+}
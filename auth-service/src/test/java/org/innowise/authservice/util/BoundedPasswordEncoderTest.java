@@ -0,0 +1,108 @@
+package org.innowise.authservice.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.authservice.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1));
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void matches_WithFreeWorker_ShouldDelegateAndRecordLatency() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(new CountDownLatch(0)),
+                executor, Duration.ofSeconds(1), meterRegistry);
+
+        assertTrue(encoder.matches("secret", "secret"));
+        assertEquals("secret", encoder.encode("secret"));
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_WhenWorkerAndQueueAreFull_ShouldThrowTooManyRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(release),
+                executor, Duration.ofSeconds(3), meterRegistry);
+
+        callers.submit(() -> encoder.encode("running"));
+        callers.submit(() -> encoder.encode("queued"));
+        while (executor.getActiveCount() < 1 || executor.getQueue().size() < 1) {
+            Thread.onSpinWait();
+        }
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> encoder.encode("rejected"));
+        assertEquals(Duration.ofSeconds(3), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void withPool_WithoutQueue_ShouldRejectWhenWorkerIsBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = BoundedPasswordEncoder.withPool(new PlainEncoder(release), 1, 0,
+                Duration.ofSeconds(1), meterRegistry);
+        try {
+            callers.submit(() -> encoder.encode("running"));
+            while (meterRegistry.get("executor.active").tag("name", "password-hashing").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("rejected"));
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void destroy_ShouldShutDownExecutor() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(new CountDownLatch(0)),
+                executor, Duration.ofSeconds(1), meterRegistry);
+
+        encoder.destroy();
+
+        assertTrue(executor.isShutdown());
+        assertThrows(TooManyRequestsException.class, () -> encoder.encode("secret"));
+    }
+
+    private record PlainEncoder(CountDownLatch release) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.innowise.authservice.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientAddressResolverTest {
+    private static final String SECRET = "myIdentitySecretKeymyIdentitySecretKey1234567890";
+    private static final String GATEWAY_ADDRESS = "172.18.0.5";
+
+    private final ClientAddressResolver clientAddressResolver = new ClientAddressResolver(SECRET);
+
+    @Test
+    void resolve_ProxiedThroughGateway_ShouldKeepClientsApart() throws GeneralSecurityException {
+        MockHttpServletRequest first = proxied("203.0.113.7", sign("203.0.113.7"));
+        MockHttpServletRequest second = proxied("198.51.100.23", sign("198.51.100.23"));
+
+        assertEquals("203.0.113.7", clientAddressResolver.resolve(first));
+        assertEquals("198.51.100.23", clientAddressResolver.resolve(second));
+    }
+
+    @Test
+    void resolve_WithForgedSignature_ShouldUseRemoteAddress() throws GeneralSecurityException {
+        MockHttpServletRequest request = proxied("203.0.113.7", sign("198.51.100.23"));
+
+        assertEquals(GATEWAY_ADDRESS, clientAddressResolver.resolve(request));
+    }
+
+    @Test
+    void resolve_WithoutClientAddressHeader_ShouldUseRemoteAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+
+        assertEquals("203.0.113.7", clientAddressResolver.resolve(request));
+    }
+
+    private static MockHttpServletRequest proxied(String clientAddress, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(GATEWAY_ADDRESS);
+        request.addHeader(ApplicationConstant.CLIENT_ADDRESS_HEADER, clientAddress);
+        request.addHeader(ApplicationConstant.CLIENT_ADDRESS_SIGNATURE_HEADER, signature);
+        return request;
+    }
+
+    private static String sign(String address) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(address.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,129 @@
+package org.innowise.authservice.util;
+
+import org.innowise.authservice.model.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenProviderTest {
+    private static final String SECRET = "mySecretKeymySecretKeymySecretKeymySecretKey1234567890123456";
+
+    private final UserDetails userDetails = new User("test@example.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = newProvider(SECRET, "HS256", 60_000);
+    }
+
+    @Test
+    void verify_WithAccessToken_ShouldReturnClaims() {
+        Optional<VerifiedToken> result = jwtTokenProvider.verify(jwtTokenProvider.generateAccessToken(userDetails));
+
+        assertTrue(result.isPresent());
+        assertEquals("test@example.com", result.get().subject());
+        assertEquals(List.of("ROLE_USER"), result.get().roles());
+        assertTrue(result.get().isAccessToken());
+        assertFalse(result.get().isRefreshToken());
+    }
+
+    @Test
+    void verify_WithRefreshToken_ShouldReturnFamilyAndTokenId() {
+        Optional<VerifiedToken> result = jwtTokenProvider.verify(
+                jwtTokenProvider.generateRefreshToken(userDetails, "family-1", "token-1"));
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().isRefreshToken());
+        assertEquals("family-1", result.get().familyId());
+        assertEquals("token-1", result.get().tokenId());
+    }
+
+    @Test
+    void verify_WithForeignOrExpiredToken_ShouldReturnEmpty() {
+        String foreign = newProvider(SECRET.replace('m', 'x'), "HS256", 60_000).generateAccessToken(userDetails);
+        String expired = newProvider(SECRET, "HS256", -1_000).generateAccessToken(userDetails);
+
+        assertTrue(jwtTokenProvider.verify(foreign).isEmpty());
+        assertTrue(jwtTokenProvider.verify(expired).isEmpty());
+        assertTrue(jwtTokenProvider.verify("not.a.jwt").isEmpty());
+    }
+
+    @Test
+    void verify_WithEs256Token_ShouldReturnClaimsAndPublishSigningKey() {
+        JwtTokenProvider es256Provider = newProvider(SECRET, "ES256", 60_000);
+        String token = es256Provider.generateAccessToken(userDetails);
+
+        assertTrue(es256Provider.verify(token).isPresent());
+        assertTrue(jwtTokenProvider.verify(token).isEmpty());
+
+        List<?> keys = (List<?>) es256Provider.getJsonWebKeySet().get("keys");
+        Map<?, ?> jwk = (Map<?, ?>) keys.get(0);
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals(keyId(token), jwk.get("kid"));
+    }
+
+    @Test
+    void verify_WithHs256TokenAfterSwitchToEs256_ShouldStillReturnClaims() {
+        String token = jwtTokenProvider.generateAccessToken(userDetails);
+
+        assertTrue(newProvider(SECRET, "ES256", 60_000).verify(token).isPresent());
+    }
+
+    @Test
+    void verify_WithEs256TokenOfOtherKey_ShouldReturnEmpty() {
+        String foreign = newProvider(SECRET, "ES256", 60_000).generateAccessToken(userDetails);
+
+        assertTrue(newProvider(SECRET, "ES256", 60_000).verify(foreign).isEmpty());
+    }
+
+    @Test
+    void generateAccessToken_WithUserPrincipal_ShouldCarryUserId() {
+        UserPrincipal principal = new UserPrincipal(42L, "test@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        String token = jwtTokenProvider.generateAccessToken(principal);
+
+        assertTrue(payload(token).contains("\"uid\":42"));
+        assertFalse(payload(jwtTokenProvider.generateAccessToken(userDetails)).contains("\"uid\""));
+    }
+
+    private static String payload(String token) {
+        String[] parts = token.split("\\.");
+        return new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+    }
+
+    private static String keyId(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+
+    private static JwtTokenProvider newProvider(String secret, String algorithm, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "keyId", "");
+        ReflectionTestUtils.setField(provider, "algorithm", algorithm);
+        ReflectionTestUtils.setField(provider, "ecPrivateKeyFile", "");
+        ReflectionTestUtils.setField(provider, "ecPublicKeyFile", "");
+        ReflectionTestUtils.setField(provider, "accessTokenExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpiration", expiration);
+        provider.init();
+        return provider;
+    }
+}
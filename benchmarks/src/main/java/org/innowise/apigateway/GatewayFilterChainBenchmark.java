@@ -0,0 +1,141 @@
+package org.innowise.apigateway;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.innowise.apigateway.util.ApplicationConstant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip through the running gateway: a full Spring context on a random port routing
+ * {@code /api/v1/users/**} to an in-process Reactor Netty stub that answers with a fixed JSON body.
+ * {@code authenticatedRoute} goes through every route and global filter up to the upstream call,
+ * {@code rejectedToken} stops at the {@code JwtFilter} with a 401.
+ * <p>
+ * Client, gateway and stub share the JVM, so allocation figures from {@code -prof gc} include all three;
+ * compare runs against each other rather than reading them as the gateway's own cost. Requests rotate
+ * over {@value #PRINCIPALS} principals so the per-principal rate limiter of the route never rejects them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GatewayFilterChainBenchmark {
+    private static final String SECRET = "mySecretKeymySecretKeymySecretKeymySecretKey1234567890123456";
+    private static final String PATH = "/api/v1/users/me";
+    private static final byte[] UPSTREAM_BODY =
+            "{\"id\":1,\"email\":\"user@example.com\",\"name\":\"User\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int PRINCIPALS = 4096;
+
+    private DisposableServer upstream;
+    private ConfigurableApplicationContext gateway;
+    private ConnectionProvider connectionProvider;
+    private HttpClient client;
+    private String[] authorizations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(PATH, (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(UPSTREAM_BODY))))
+                .bindNow();
+
+        gateway = new SpringApplicationBuilder(ApiGatewayService.class)
+                .web(WebApplicationType.REACTIVE)
+                .run(
+                        "--server.port=0",
+                        "--JWT_HS256_ENABLED=true",
+                        "--app.jwt.secret=" + SECRET,
+                        "--IDENTITY_SECRET_KEY=" + SECRET,
+                        "--USER_SERVICE_URIS=http://localhost:" + upstream.port(),
+                        "--otel.sdk.disabled=true"
+                );
+        int port = gateway.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+        connectionProvider = ConnectionProvider.create("benchmark", 1);
+        client = HttpClient.create(connectionProvider).baseUrl("http://localhost:" + port);
+
+        authorizations = new String[PRINCIPALS];
+        for (int i = 0; i < PRINCIPALS; i++) {
+            authorizations[i] = ApplicationConstant.BEARER_PREFIX + token("user" + i + "@example.com");
+        }
+
+        int status = send(authorizations[0]);
+        if (status != HttpStatus.OK.value()) {
+            throw new IllegalStateException("Gateway answered " + status + " instead of 200 for " + PATH);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.disposeLater().block();
+        gateway.close();
+        upstream.disposeNow();
+    }
+
+    @Benchmark
+    public int authenticatedRoute() {
+        String authorization = authorizations[next];
+        next = (next + 1) & (PRINCIPALS - 1);
+        return send(authorization);
+    }
+
+    @Benchmark
+    public int rejectedToken() {
+        return send(ApplicationConstant.BEARER_PREFIX + "not.a.jwt");
+    }
+
+    private int send(String authorization) {
+        return client.headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, authorization))
+                .get()
+                .uri(PATH)
+                .responseSingle((response, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .thenReturn(response.status().code()))
+                .block();
+    }
+
+    private static String token(String subject) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim(ApplicationConstant.ROLES_CLAIM, List.of("ROLE_USER"))
+                .claim("type", "ACCESS")
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
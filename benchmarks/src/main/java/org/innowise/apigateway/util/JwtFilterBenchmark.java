@@ -0,0 +1,139 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.innowise.common.util.BloomFilter;
+import org.innowise.common.util.RevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionManager;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one pass through the {@link JwtFilter} with identity forwarding enabled, for a valid,
+ * an expired and a malformed bearer token. The chain behind the filter completes immediately,
+ * so the numbers cover exchange creation, token verification, the revocation lookup against a snapshot of
+ * {@value #REVOKED} ids and the {@code X-User-*} headers only.
+ * Exchanges share the session manager and codecs, as they do behind the {@code HttpWebHandlerAdapter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private static final String SECRET = "mySecretKeymySecretKeymySecretKeymySecretKey1234567890123456";
+    private static final String PATH = "/api/v1/users/me";
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+    private static final int REVOKED = 10_000;
+
+    private final WebSessionManager sessionManager = new DefaultWebSessionManager();
+    private final ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+    private final LocaleContextResolver localeContextResolver = new AcceptHeaderLocaleContextResolver();
+
+    private GatewayFilter filter;
+    private String validHeader;
+    private String expiredHeader;
+    private String malformedHeader;
+
+    @Setup
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                ApplicationConstant.JWT_HS256_ENABLED_PROPERTY, "true",
+                ApplicationConstant.JWT_SECRET_PROPERTY, SECRET,
+                ApplicationConstant.OPEN_PATHS_PROPERTY, "/api/v1/auth/login/**,/api/v1/auth/register/**"
+        )));
+        JwtVerifier jwtVerifier = new JwtVerifier(environment,
+                new VerifiedTokenCache(true, 1_000, Duration.ofMinutes(15), new SimpleMeterRegistry()));
+        jwtVerifier.init();
+        OpenPathMatcher openPathMatcher = new OpenPathMatcher(environment);
+        openPathMatcher.init();
+
+        BloomFilter revoked = BloomFilter.create(REVOKED, 0.000001);
+        for (int i = 0; i < REVOKED; i++) {
+            revoked.put(UUID.randomUUID().toString());
+        }
+        RevocationList revocationList = new RevocationList();
+        revocationList.update(revoked, "\"benchmark\"");
+
+        JwtFilter.Config config = new JwtFilter.Config();
+        config.setForwardIdentity(true);
+        filter = new JwtFilter(jwtVerifier, new IdentityHeaders(SECRET), openPathMatcher, revocationList).apply(config);
+
+        long now = System.currentTimeMillis();
+        validHeader = ApplicationConstant.BEARER_PREFIX + token(now + TimeUnit.HOURS.toMillis(1));
+        expiredHeader = ApplicationConstant.BEARER_PREFIX + token(now - TimeUnit.MINUTES.toMillis(1));
+        malformedHeader = ApplicationConstant.BEARER_PREFIX + "not.a.jwt";
+    }
+
+    @Benchmark
+    public HttpStatusCode validToken() {
+        return filter(validHeader);
+    }
+
+    @Benchmark
+    public HttpStatusCode expiredToken() {
+        return filter(expiredHeader);
+    }
+
+    @Benchmark
+    public HttpStatusCode malformedToken() {
+        return filter(malformedHeader);
+    }
+
+    private HttpStatusCode filter(String authorization) {
+        MockServerHttpRequest request = MockServerHttpRequest.get(PATH)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .build();
+        ServerWebExchange exchange = new DefaultServerWebExchange(request, new MockServerHttpResponse(),
+                sessionManager, codecConfigurer, localeContextResolver);
+        filter.filter(exchange, CHAIN).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static String token(long expiresAt) {
+        return Jwts.builder()
+                .setSubject("user@example.com")
+                .setId(UUID.randomUUID().toString())
+                .claim(ApplicationConstant.ROLES_CLAIM, List.of("ROLE_USER"))
+                .claim("type", "ACCESS")
+                .setIssuedAt(new Date(expiresAt - TimeUnit.HOURS.toMillis(1)))
+                .setExpiration(new Date(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
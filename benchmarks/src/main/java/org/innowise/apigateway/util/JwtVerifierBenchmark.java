@@ -0,0 +1,99 @@
+package org.innowise.apigateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT verification cost: building the key and parser on every call
+ * (the previous {@code JwtFilter} behaviour) versus the shared {@link JwtVerifier},
+ * with and without the {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerifierBenchmark {
+    private static final String SECRET = "mySecretKeymySecretKeymySecretKeymySecretKey1234567890123456";
+
+    private JwtVerifier jwtVerifier;
+    private JwtVerifier cachingJwtVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of(ApplicationConstant.JWT_HS256_ENABLED_PROPERTY, "true",
+                        ApplicationConstant.JWT_SECRET_PROPERTY, SECRET)));
+        jwtVerifier = new JwtVerifier(environment, newCache(false));
+        jwtVerifier.init();
+        cachingJwtVerifier = new JwtVerifier(environment, newCache(true));
+        cachingJwtVerifier.init();
+
+        Date now = new Date();
+        token = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("roles", List.of("ROLE_USER"))
+                .claim("type", "ACCESS")
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims rebuildParserPerRequest() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedVerifier() {
+        return jwtVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerifier() {
+        return cachingJwtVerifier.verify(token);
+    }
+
+    private static VerifiedTokenCache newCache(boolean enabled) {
+        return new VerifiedTokenCache(enabled, 1_000, Duration.ofMinutes(15), new SimpleMeterRegistry());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
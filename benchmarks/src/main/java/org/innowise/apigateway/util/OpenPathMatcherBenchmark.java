@@ -0,0 +1,66 @@
+package org.innowise.apigateway.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.server.PathContainer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-path lookup done by the {@link JwtFilter} on every request, for a path that is public
+ * and one that has to fall through every pattern. Parsing the raw path is measured separately,
+ * since the gateway gets the {@link PathContainer} from the request for free.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenPathMatcherBenchmark {
+    private static final String OPEN_PATH = "/api/v1/auth/login";
+    private static final String PROTECTED_PATH = "/api/v1/orders/42/items";
+
+    private OpenPathMatcher openPathMatcher;
+    private PathContainer openPath;
+    private PathContainer protectedPath;
+
+    @Setup
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                ApplicationConstant.OPEN_PATHS_PROPERTY, "/api/v1/auth/login/**,/api/v1/auth/register/**"
+        )));
+        openPathMatcher = new OpenPathMatcher(environment);
+        openPathMatcher.init();
+
+        openPath = PathContainer.parsePath(OPEN_PATH);
+        protectedPath = PathContainer.parsePath(PROTECTED_PATH);
+    }
+
+    @Benchmark
+    public boolean openPath() {
+        return openPathMatcher.matches(openPath);
+    }
+
+    @Benchmark
+    public boolean protectedPath() {
+        return openPathMatcher.matches(protectedPath);
+    }
+
+    @Benchmark
+    public boolean parseAndMatch() {
+        return openPathMatcher.matches(PathContainer.parsePath(PROTECTED_PATH));
+    }
+}
@@ -0,0 +1,126 @@
+package org.innowise.authservice.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying one access token per signing algorithm. HS256 and ES256 go through
+ * {@link JwtTokenProvider}; jjwt 0.11 cannot sign EdDSA, so that row builds the same claims with jjwt and
+ * signs them with the JDK's Ed25519 {@link Signature}, as a reference for a later library upgrade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+    private static final String SECRET = "mySecretKeymySecretKeymySecretKeymySecretKey1234567890123456";
+    private static final String EDDSA = "EdDSA";
+    private static final String ED25519 = "Ed25519";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    @Param({"HS256", "ES256", EDDSA})
+    private String algorithm;
+
+    private final UserDetails user = new User("user@example.com", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private JwtTokenProvider jwtTokenProvider;
+    private KeyPair edKeyPair;
+    private String token;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        if (EDDSA.equals(algorithm)) {
+            edKeyPair = KeyPairGenerator.getInstance(ED25519).generateKeyPair();
+        } else {
+            jwtTokenProvider = new JwtTokenProvider();
+            ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+            ReflectionTestUtils.setField(jwtTokenProvider, "keyId", "");
+            ReflectionTestUtils.setField(jwtTokenProvider, "algorithm", algorithm);
+            ReflectionTestUtils.setField(jwtTokenProvider, "ecPrivateKeyFile", "");
+            ReflectionTestUtils.setField(jwtTokenProvider, "ecPublicKeyFile", "");
+            ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenExpiration", TimeUnit.MINUTES.toMillis(15));
+            ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenExpiration", TimeUnit.DAYS.toMillis(10));
+            jwtTokenProvider.init();
+        }
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() throws GeneralSecurityException {
+        if (jwtTokenProvider != null) {
+            return jwtTokenProvider.generateAccessToken(user);
+        }
+
+        Date now = new Date();
+        String unsigned = Jwts.builder()
+                .setHeaderParam("alg", EDDSA)
+                .setSubject(user.getUsername())
+                .claim("roles", List.of("ROLE_USER"))
+                .claim("type", VerifiedToken.TYPE_ACCESS)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TimeUnit.MINUTES.toMillis(15)))
+                .setId(UUID.randomUUID().toString())
+                .compact();
+        String signingInput = unsigned.substring(0, unsigned.length() - 1);
+
+        Signature signature = Signature.getInstance(ED25519);
+        signature.initSign(edKeyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64_URL.encodeToString(signature.sign());
+    }
+
+    @Benchmark
+    public String verify() throws GeneralSecurityException {
+        if (jwtTokenProvider != null) {
+            return jwtTokenProvider.verify(token)
+                    .orElseThrow(IllegalStateException::new)
+                    .subject();
+        }
+
+        int signatureStart = token.lastIndexOf('.');
+        Signature signature = Signature.getInstance(ED25519);
+        signature.initVerify(edKeyPair.getPublic());
+        signature.update(token.substring(0, signatureStart).getBytes(StandardCharsets.US_ASCII));
+        if (!signature.verify(BASE64_URL_DECODER.decode(token.substring(signatureStart + 1)))) {
+            throw new IllegalStateException();
+        }
+
+        int payloadStart = token.indexOf('.') + 1;
+        Claims claims = Jwts.parserBuilder()
+                .build()
+                .parseClaimsJwt(BASE64_URL.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8))
+                        + '.' + token.substring(payloadStart, signatureStart) + '.')
+                .getBody();
+        return claims.getSubject();
+    }
+}
@@ -0,0 +1,80 @@
+package org.innowise.authservice.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by {@code CustomAuthService.refresh}: three parses, each deriving the key and
+ * building a parser (the previous {@link JwtTokenProvider} behaviour), versus one {@link JwtTokenProvider#verify}
+ * call on the cached parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "mySecretKeymySecretKeymySecretKeymySecretKey1234567890123456";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "keyId", "");
+        ReflectionTestUtils.setField(jwtTokenProvider, "algorithm", "HS256");
+        ReflectionTestUtils.setField(jwtTokenProvider, "ecPrivateKeyFile", "");
+        ReflectionTestUtils.setField(jwtTokenProvider, "ecPublicKeyFile", "");
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenExpiration", TimeUnit.MINUTES.toMillis(15));
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenExpiration", TimeUnit.DAYS.toMillis(10));
+        jwtTokenProvider.init();
+
+        token = jwtTokenProvider.generateRefreshToken(new User("user@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))), "family-1", "token-1");
+    }
+
+    @Benchmark
+    public String parseThreeTimes() {
+        parse();
+        if (!VerifiedToken.TYPE_REFRESH.equals(parse().get("type"))) {
+            throw new IllegalStateException();
+        }
+        return parse().getSubject();
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        VerifiedToken verified = jwtTokenProvider.verify(token)
+                .filter(VerifiedToken::isRefreshToken)
+                .orElseThrow(IllegalStateException::new);
+        return verified.subject();
+    }
+
+    private Claims parse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
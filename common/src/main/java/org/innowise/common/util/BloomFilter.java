@@ -0,0 +1,116 @@
+package org.innowise.common.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size Bloom filter over token ids, used to publish the revocation list as one compact snapshot.
+ * {@link #mightContain} never misses an id that was added and reports one that was not with roughly the
+ * false positive probability the filter was sized for.
+ * <p>
+ * Bit positions are derived by enhanced double hashing of a 64-bit FNV-1a digest of the id's UTF-16 code
+ * units; plain double hashing measured several times the target rate at the default snapshot size. auth-service
+ * writes snapshots with {@link #toByteArray()} and the other services read them with {@link #readFrom}, so the
+ * hashing and the encoding are versioned together by {@code FORMAT_VERSION}.
+ */
+public final class BloomFilter {
+    private static final byte FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = Byte.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final double LN2 = Math.log(2);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    private BloomFilter(long[] words, int hashFunctions) {
+        this.words = words;
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * @param expectedInsertions       number of ids the filter is sized for
+     * @param falsePositiveProbability target false positive rate at that size, between 0 and 1 exclusive
+     */
+    public static BloomFilter create(int expectedInsertions, double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+        }
+        int insertions = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        int wordCount = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        int hashFunctions = (int) Math.max(1, Math.round((double) wordCount * Long.SIZE / insertions * LN2));
+        return new BloomFilter(new long[wordCount], hashFunctions);
+    }
+
+    /**
+     * Decodes a filter written by {@link #toByteArray()}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a snapshot in the supported format
+     */
+    public static BloomFilter readFrom(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES || buffer.get() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported Bloom filter snapshot");
+        }
+        int hashFunctions = buffer.getInt();
+        int wordCount = buffer.getInt();
+        if (hashFunctions < 1 || wordCount < 1 || buffer.remaining() != (long) wordCount * Long.BYTES) {
+            throw new IllegalArgumentException("Corrupt Bloom filter snapshot");
+        }
+
+        long[] words = new long[wordCount];
+        buffer.asLongBuffer().get(words);
+        return new BloomFilter(words, hashFunctions);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ FNV_PRIME);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1, bitCount);
+            hash1 += hash2;
+            hash2 += i;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ FNV_PRIME);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1, bitCount);
+            hash1 += hash2;
+            hash2 += i;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + words.length * Long.BYTES)
+                .put(FORMAT_VERSION)
+                .putInt(hashFunctions)
+                .putInt(words.length);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,123 @@
+package org.innowise.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.EllipticCurve;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RFC 7517 form of the P-256 verification keys: written by auth-service at {@code /.well-known/jwks.json} and
+ * read back by the services verifying its tokens, which skip keys of other types or curves.
+ */
+public final class JsonWebKeys {
+    private static final String KEY_TYPE = "EC";
+    private static final String CURVE = "P-256";
+    private static final String CURVE_NAME = "secp256r1";
+    private static final String ALGORITHM = "ES256";
+    private static final String USE_SIGNATURE = "sig";
+    private static final int COORDINATE_BYTES = 32;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private JsonWebKeys() {
+    }
+
+    public static Map<String, Object> toJwk(ECPublicKey key, String keyId) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", KEY_TYPE);
+        jwk.put("crv", CURVE);
+        jwk.put("x", coordinate(key.getW().getAffineX()));
+        jwk.put("y", coordinate(key.getW().getAffineY()));
+        jwk.put("kid", keyId);
+        jwk.put("alg", ALGORITHM);
+        jwk.put("use", USE_SIGNATURE);
+        return jwk;
+    }
+
+    /**
+     * RFC 7638 thumbprint, used as the {@code kid} when none is configured, so every instance signing with
+     * the same key derives the same id.
+     */
+    public static String thumbprint(ECPublicKey key) {
+        String canonical = "{\"crv\":\"" + CURVE + "\",\"kty\":\"" + KEY_TYPE + "\",\"x\":\""
+                + coordinate(key.getW().getAffineX()) + "\",\"y\":\"" + coordinate(key.getW().getAffineY()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return BASE64_URL.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if a P-256 key in the set is not a valid point
+     */
+    public static Map<String, PublicKey> parse(JsonNode jwks) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (KEY_TYPE.equals(jwk.path("kty").asText()) && CURVE.equals(jwk.path("crv").asText())
+                    && jwk.hasNonNull("kid")) {
+                keys.put(jwk.get("kid").asText(), toPublicKey(jwk.path("x").asText(), jwk.path("y").asText()));
+            }
+        }
+        return keys;
+    }
+
+    private static PublicKey toPublicKey(String x, String y) {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance(KEY_TYPE);
+            parameters.init(new ECGenParameterSpec(CURVE_NAME));
+            ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+            ECPoint point = new ECPoint(coordinate(x), coordinate(y));
+            if (!isOnCurve(point, spec)) {
+                throw new IllegalArgumentException("P-256 JSON Web Key is not a point on the curve");
+            }
+            return KeyFactory.getInstance(KEY_TYPE).generatePublic(new ECPublicKeySpec(point, spec));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid P-256 JSON Web Key", e);
+        }
+    }
+
+    /**
+     * {@link KeyFactory} accepts any coordinates, so {@code y^2 = x^3 + ax + b (mod p)} is checked here.
+     */
+    private static boolean isOnCurve(ECPoint point, ECParameterSpec spec) {
+        EllipticCurve curve = spec.getCurve();
+        BigInteger p = ((ECFieldFp) curve.getField()).getP();
+        BigInteger x = point.getAffineX();
+        BigInteger y = point.getAffineY();
+        if (x.compareTo(p) >= 0 || y.compareTo(p) >= 0) {
+            return false;
+        }
+        BigInteger right = x.pow(3).add(curve.getA().multiply(x)).add(curve.getB()).mod(p);
+        return y.pow(2).mod(p).equals(right);
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, padded, COORDINATE_BYTES - length, length);
+        return BASE64_URL.encodeToString(padded);
+    }
+
+    private static BigInteger coordinate(String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+}
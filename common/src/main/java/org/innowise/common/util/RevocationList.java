@@ -0,0 +1,46 @@
+package org.innowise.common.util;
+
+/**
+ * Local copy of the auth-service revocation snapshot, a {@link BloomFilter} of revoked access token ids, kept
+ * by the services that verify tokens themselves. Their pollers swap in each new snapshot together with its
+ * entity tag, so {@link #isRevoked} is an in-memory lookup; until the first snapshot arrives no token is treated
+ * as revoked.
+ * <p>
+ * A Bloom filter never misses a revoked id but may report one that was not revoked. auth-service sizes every
+ * snapshot for {@code app.revocation.false-positive-probability} (one in a million by default) at no fewer than
+ * {@code app.revocation.min-capacity} ids, so about one valid token in a million is rejected here. It is
+ * rejected for at most its remaining lifetime, fifteen minutes for a default access token, and a refresh issues a new
+ * token id that is checked afresh. auth-service itself confirms every hit against its exact list.
+ */
+public class RevocationList {
+    private volatile Snapshot snapshot;
+
+    public boolean isRevoked(String tokenId) {
+        Snapshot current = snapshot;
+        return tokenId != null && current != null && current.filter().mightContain(tokenId);
+    }
+
+    /**
+     * Entity tag of the snapshot held, to poll with {@code If-None-Match}; {@code null} before the first one.
+     */
+    public String getEtag() {
+        Snapshot current = snapshot;
+        return current != null ? current.etag() : null;
+    }
+
+    /**
+     * Replaces the snapshot with one encoded by {@link BloomFilter#toByteArray()}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid snapshot; the previous one is kept
+     */
+    public void update(byte[] bytes, String etag) {
+        update(BloomFilter.readFrom(bytes), etag);
+    }
+
+    public void update(BloomFilter filter, String etag) {
+        snapshot = new Snapshot(filter, etag);
+    }
+
+    private record Snapshot(BloomFilter filter, String etag) {
+    }
+}
@@ -0,0 +1,83 @@
+package org.innowise.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    private static final int DEFAULT_MIN_CAPACITY = 1024;
+    private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.000001;
+
+    @Test
+    void mightContain_WithAddedIds_ShouldReturnTrue() {
+        BloomFilter filter = BloomFilter.create(1000, 0.000001);
+        String[] ids = new String[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.put(ids[i]);
+        }
+
+        for (String id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void mightContain_WithOtherIds_ShouldStayNearTargetRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_WithDefaultRevocationSizing_ShouldRejectAboutOneValidIdInAMillion() {
+        BloomFilter filter = BloomFilter.create(DEFAULT_MIN_CAPACITY, DEFAULT_FALSE_POSITIVE_PROBABILITY);
+        for (int i = 0; i < DEFAULT_MIN_CAPACITY; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 2_000_000; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives <= 10, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void readFrom_WithEncodedFilter_ShouldRestoreSameBits() {
+        BloomFilter filter = BloomFilter.create(100, 0.001);
+        String id = UUID.randomUUID().toString();
+        filter.put(id);
+
+        BloomFilter restored = BloomFilter.readFrom(filter.toByteArray());
+
+        assertTrue(restored.mightContain(id));
+        assertArrayEquals(filter.toByteArray(), restored.toByteArray());
+    }
+
+    @Test
+    void readFrom_WithTruncatedBytes_ShouldThrowIllegalArgumentException() {
+        byte[] bytes = BloomFilter.create(100, 0.001).toByteArray();
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.readFrom(truncated));
+    }
+}
@@ -0,0 +1,46 @@
+package org.innowise.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeaderSignatureTest {
+    private static final String SECRET = "test-identity-secret";
+
+    private final HeaderSignature headerSignature = new HeaderSignature(SECRET);
+
+    @Test
+    void verify_WithOwnSignature_ShouldReturnTrue() {
+        String signature = headerSignature.sign("42", "user@example.com", "ROLE_USER", "1700000000");
+
+        assertTrue(new HeaderSignature(SECRET).verify(signature, "42", "user@example.com", "ROLE_USER", "1700000000"));
+    }
+
+    @Test
+    void verify_WithChangedValue_ShouldReturnFalse() {
+        String signature = headerSignature.sign("42", "user@example.com", "ROLE_USER", "1700000000");
+
+        assertFalse(headerSignature.verify(signature, "43", "user@example.com", "ROLE_USER", "1700000000"));
+        assertFalse(headerSignature.verify(signature, "42", "user@example.com", "ROLE_ADMIN", "1700000000"));
+    }
+
+    @Test
+    void verify_WithValuesSplitDifferently_ShouldReturnFalse() {
+        String signature = headerSignature.sign("4", "2");
+
+        assertFalse(headerSignature.verify(signature, "42", ""));
+    }
+
+    @Test
+    void verify_WithOtherSecret_ShouldReturnFalse() {
+        String signature = new HeaderSignature("other-secret").sign("203.0.113.7");
+
+        assertFalse(headerSignature.verify(signature, "203.0.113.7"));
+    }
+
+    @Test
+    void verify_WithMalformedSignature_ShouldReturnFalse() {
+        assertFalse(headerSignature.verify("not base64!", "203.0.113.7"));
+    }
+}
@@ -0,0 +1,72 @@
+package org.innowise.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonWebKeysTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parse_WithWrittenKeys_ShouldRestoreThemByKeyId() throws Exception {
+        ECPublicKey first = generateKey();
+        ECPublicKey second = generateKey();
+
+        Map<String, PublicKey> keys = JsonWebKeys.parse(jwks(
+                JsonWebKeys.toJwk(first, "key-1"), JsonWebKeys.toJwk(second, "key-2")));
+
+        assertEquals(2, keys.size());
+        assertArrayEquals(first.getEncoded(), keys.get("key-1").getEncoded());
+        assertArrayEquals(second.getEncoded(), keys.get("key-2").getEncoded());
+    }
+
+    @Test
+    void parse_WithOtherKeyTypes_ShouldSkipThem() {
+        JsonNode jwks = jwks(
+                Map.of("kty", "RSA", "kid", "rsa-key", "n", "AQAB", "e", "AQAB"),
+                Map.of("kty", "EC", "crv", "P-384", "kid", "p384-key", "x", "AA", "y", "AA"));
+
+        assertTrue(JsonWebKeys.parse(jwks).isEmpty());
+    }
+
+    @Test
+    void parse_WithPointOffTheCurve_ShouldThrowIllegalArgumentException() throws Exception {
+        Map<String, Object> jwk = new HashMap<>(JsonWebKeys.toJwk(generateKey(), "key-1"));
+        jwk.put("y", jwk.get("x"));
+
+        assertThrows(IllegalArgumentException.class, () -> JsonWebKeys.parse(jwks(jwk)));
+    }
+
+    @Test
+    void thumbprint_ShouldBeStablePerKey() throws Exception {
+        ECPublicKey key = generateKey();
+
+        assertEquals(JsonWebKeys.thumbprint(key), JsonWebKeys.thumbprint(key));
+        assertNotEquals(JsonWebKeys.thumbprint(key), JsonWebKeys.thumbprint(generateKey()));
+    }
+
+    @SafeVarargs
+    private JsonNode jwks(Map<String, ?>... keys) {
+        return objectMapper.valueToTree(Map.of("keys", List.of(keys)));
+    }
+
+    private static ECPublicKey generateKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return (ECPublicKey) generator.generateKeyPair().getPublic();
+    }
+}
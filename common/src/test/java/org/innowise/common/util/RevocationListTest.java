@@ -0,0 +1,62 @@
+package org.innowise.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationListTest {
+    private final RevocationList revocationList = new RevocationList();
+
+    @Test
+    void isRevoked_BeforeFirstSnapshot_ShouldReturnFalse() {
+        assertFalse(revocationList.isRevoked("token-1"));
+        assertNull(revocationList.getEtag());
+    }
+
+    @Test
+    void update_WithEncodedSnapshot_ShouldReportItsIds() {
+        revocationList.update(snapshot("token-1").toByteArray(), "\"v1\"");
+
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertFalse(revocationList.isRevoked("token-2"));
+        assertFalse(revocationList.isRevoked(null));
+        assertEquals("\"v1\"", revocationList.getEtag());
+    }
+
+    @Test
+    void update_WithNewSnapshot_ShouldReplaceThePreviousOne() {
+        revocationList.update(snapshot("token-1"), "\"v1\"");
+
+        revocationList.update(snapshot("token-2"), "\"v2\"");
+
+        assertFalse(revocationList.isRevoked("token-1"));
+        assertTrue(revocationList.isRevoked("token-2"));
+        assertEquals("\"v2\"", revocationList.getEtag());
+    }
+
+    @Test
+    void update_WithCorruptSnapshot_ShouldKeepThePreviousOne() {
+        revocationList.update(snapshot("token-1"), "\"v1\"");
+        byte[] bytes = snapshot("token-2").toByteArray();
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> revocationList.update(truncated, "\"v2\""));
+
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertEquals("\"v1\"", revocationList.getEtag());
+    }
+
+    private static BloomFilter snapshot(String... tokenIds) {
+        BloomFilter filter = BloomFilter.create(1024, 0.000001);
+        for (String tokenId : tokenIds) {
+            filter.put(tokenId);
+        }
+        return filter;
+    }
+}
@@ -2,15 +2,16 @@ package org.innowise.orderservice.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.innowise.common.util.RevocationList;
 import org.innowise.orderservice.util.ApplicationConstant;
-import org.springframework.beans.factory.annotation.Value;
+import org.innowise.orderservice.util.IdentityHeaderVerifier;
+import org.innowise.orderservice.util.JwksKeyResolver;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,24 +19,35 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    @Value("${app.jwt.secret}")
-    private String secretKey;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
-    }
+    private final IdentityHeaderVerifier identityHeaderVerifier;
+    private final RevocationList revocationList;
+    private final JwksKeyResolver jwksKeyResolver;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader(ApplicationConstant.AUTHORIZATION_HEADER);
+
+        if (identityHeaderVerifier.hasIdentity(request)) {
+            if (identityHeaderVerifier.isTrusted(request)) {
+                String forwardedToken = authHeader != null && authHeader.startsWith(ApplicationConstant.BEARER_PREFIX)
+                        ? authHeader.substring(ApplicationConstant.BEARER_PREFIX_LENGTH)
+                        : null;
+                authenticateFromIdentityHeaders(request, forwardedToken);
+                filterChain.doFilter(request, response);
+                return;
+            }
+            log.warn("Rejected untrusted identity headers, falling back to JWT");
+        }
+
         if (authHeader == null || !authHeader.startsWith(ApplicationConstant.BEARER_PREFIX)) {
             filterChain.doFilter(request, response);
             return;
@@ -44,10 +56,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(ApplicationConstant.BEARER_PREFIX_LENGTH);
 
         try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = jwksKeyResolver.parse(token);
+
+            if (revocationList.isRevoked(claims.getId())) {
+                log.warn("Rejected revoked JWT {} of {}", claims.getId(), claims.getSubject());
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             String username = claims.getSubject();
             List<String> roles = claims.get(ApplicationConstant.ROLES, List.class);
@@ -67,4 +82,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticateFromIdentityHeaders(HttpServletRequest request, String token) {
+        String username = request.getHeader(ApplicationConstant.USER_EMAIL_HEADER);
+        List<GrantedAuthority> authorities = Arrays.stream(request.getHeader(ApplicationConstant.USER_ROLES_HEADER)
+                        .split(ApplicationConstant.ROLES_DELIMITER))
+                .filter(role -> !role.isBlank())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(username, token, authorities);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
 }
\ No newline at end of file
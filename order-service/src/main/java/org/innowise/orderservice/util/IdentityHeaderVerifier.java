@@ -0,0 +1,50 @@
+package org.innowise.orderservice.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.innowise.common.util.HeaderSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+
+/**
+ * Checks the HMAC-signed {@code X-User-*} headers written by the api-gateway after it has
+ * verified the caller's JWT, so the token does not have to be parsed a second time here.
+ * {@code X-User-Id} is the user's id, empty for tokens issued without one.
+ */
+@Component
+public class IdentityHeaderVerifier {
+    private final HeaderSignature headerSignature;
+
+    public IdentityHeaderVerifier(@Value("${app.identity.secret}") String secret) {
+        this.headerSignature = new HeaderSignature(secret);
+    }
+
+    public boolean hasIdentity(HttpServletRequest request) {
+        return request.getHeader(ApplicationConstant.USER_SIGNATURE_HEADER) != null;
+    }
+
+    public boolean isTrusted(HttpServletRequest request) {
+        String id = request.getHeader(ApplicationConstant.USER_ID_HEADER);
+        String email = request.getHeader(ApplicationConstant.USER_EMAIL_HEADER);
+        String roles = request.getHeader(ApplicationConstant.USER_ROLES_HEADER);
+        String expires = request.getHeader(ApplicationConstant.USER_EXPIRES_HEADER);
+        String signature = request.getHeader(ApplicationConstant.USER_SIGNATURE_HEADER);
+
+        if (!StringUtils.hasText(email) || !StringUtils.hasText(expires) || signature == null
+                || id == null || roles == null || isExpired(expires)) {
+            return false;
+        }
+
+        return headerSignature.verify(signature, id, email, roles, expires);
+    }
+
+    private static boolean isExpired(String expires) {
+        try {
+            return Instant.ofEpochSecond(Long.parseLong(expires)).isBefore(Instant.now());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.innowise.orderservice.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.common.util.JsonWebKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Signing keys for bearer tokens that reach this service without trusted identity headers: the issuer's
+ * ES256 keys from its JSON Web Key Set, fetched at startup and every {@code app.jwt.jwks.refresh-interval}.
+ * HS256 tokens are rejected unless {@code app.jwt.hs256.enabled} is set while migrating off the shared secret,
+ * in which case they are verified with {@code app.jwt.secret}. A failed fetch keeps the previous keys; fetches
+ * run on the shared scheduler thread, so they are bounded by {@code app.jwt.jwks.connect-timeout} and
+ * {@code app.jwt.jwks.read-timeout}. The parser is built once; it looks the key up per token, so refreshed
+ * keys apply without rebuilding it.
+ */
+@Slf4j
+@Component
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+    private static final String ES256 = SignatureAlgorithm.ES256.getValue();
+
+    private final RestClient restClient;
+    private final String url;
+    private final SecretKey hmacKey;
+    private final JwtParser parser;
+
+    private volatile Map<String, PublicKey> publicKeys = Map.of();
+
+    public JwksKeyResolver(RestClient.Builder restClientBuilder,
+                           @Value("${app.jwt.hs256.enabled:false}") boolean hs256Enabled,
+                           @Value("${app.jwt.secret:}") String secret,
+                           @Value("${app.jwt.jwks.url:}") String url,
+                           @Value("${app.jwt.jwks.connect-timeout:2s}") Duration connectTimeout,
+                           @Value("${app.jwt.jwks.read-timeout:5s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.url = url;
+        if (hs256Enabled && secret.isBlank()) {
+            throw new IllegalStateException("app.jwt.hs256.enabled requires app.jwt.secret");
+        }
+        this.hmacKey = hs256Enabled ? Keys.hmacShaKeyFor(secret.getBytes()) : null;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(this)
+                .build();
+    }
+
+    /**
+     * Verifies the token's signature and expiry.
+     *
+     * @param token compact JWT
+     * @return the verified claims
+     */
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.jwks.refresh-interval:5m}")
+    public void refresh() {
+        if (url.isBlank()) {
+            return;
+        }
+        try {
+            JsonNode jwks = restClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .body(JsonNode.class);
+            if (jwks != null) {
+                publicKeys = JsonWebKeys.parse(jwks);
+            }
+        } catch (RestClientException | IllegalArgumentException e) {
+            log.warn("Keeping previous JWKS, fetching {} failed: {}", url, e.getMessage());
+        }
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        if (ES256.equals(header.getAlgorithm())) {
+            PublicKey key = header.getKeyId() != null ? publicKeys.get(header.getKeyId()) : null;
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown JWT key id: " + header.getKeyId());
+            }
+            return key;
+        }
+        if (hmacKey == null) {
+            throw new UnsupportedJwtException("HMAC-signed JWTs are not accepted");
+        }
+        return hmacKey;
+    }
+}
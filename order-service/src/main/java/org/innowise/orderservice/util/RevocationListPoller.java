@@ -0,0 +1,69 @@
+package org.innowise.orderservice.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.common.util.RevocationList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+
+/**
+ * Keeps this service's {@link RevocationList}, checked for bearer tokens that reach it without trusted identity
+ * headers, current. Polled with the entity tag of the snapshot already held; a failed poll keeps the previous
+ * snapshot. Polls run on the shared scheduler thread, so they are bounded by {@code app.revocation.connect-timeout}
+ * and {@code app.revocation.read-timeout}.
+ */
+@Slf4j
+@Component
+public class RevocationListPoller {
+    private final RevocationList revocationList;
+    private final RestClient restClient;
+    private final boolean enabled;
+    private final String url;
+
+    public RevocationListPoller(RevocationList revocationList,
+                                RestClient.Builder restClientBuilder,
+                                @Value("${app.revocation.enabled:true}") boolean enabled,
+                                @Value("${app.revocation.url}") String url,
+                                @Value("${app.revocation.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${app.revocation.read-timeout:5s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.revocationList = revocationList;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.enabled = enabled;
+        this.url = url;
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.poll-interval:10s}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ResponseEntity<byte[]> response = restClient.get()
+                    .uri(url)
+                    .headers(headers -> {
+                        String etag = revocationList.getEtag();
+                        if (etag != null) {
+                            headers.setIfNoneMatch(etag);
+                        }
+                    })
+                    .retrieve()
+                    .toEntity(byte[].class);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED || response.getBody() == null) {
+                return;
+            }
+            revocationList.update(response.getBody(), response.getHeaders().getETag());
+        } catch (RestClientException | IllegalArgumentException e) {
+            log.warn("Keeping previous revocation snapshot, polling {} failed: {}", url, e.getMessage());
+        }
+    }
+}
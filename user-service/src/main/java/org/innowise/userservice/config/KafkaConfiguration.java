@@ -0,0 +1,55 @@
+package org.innowise.userservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.innowise.userservice.exception.AlreadyExistsException;
+import org.innowise.userservice.util.ApplicationConstant;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+@Configuration
+public class KafkaConfiguration {
+    private static final int MAX_RETRY_ATTEMPTS = 3;
+    private static final long BACKOFF_INTERVAL = 2000L;
+    private static final String DLQ_PART = "_DLQ";
+
+    @Bean
+    public NewTopic userRegisteredDLQTopic() {
+        return new NewTopic(
+                ApplicationConstant.TOPIC_USER_REGISTERED_DLQ,
+                ApplicationConstant.PARTITION_COUNT,
+                ApplicationConstant.REPLICATION_FACTOR);
+    }
+
+    @Bean
+    public DefaultErrorHandler errorHandler(KafkaTemplate<Object, Object> template) {
+        DeadLetterPublishingRecoverer recoverer =
+                new DeadLetterPublishingRecoverer(template, (r, e) ->
+                        new org.apache.kafka.common.TopicPartition(
+                                r.topic() + DLQ_PART, r.partition()
+                        )
+                );
+
+        DefaultErrorHandler errorHandler =
+                new DefaultErrorHandler(recoverer, new FixedBackOff(BACKOFF_INTERVAL, MAX_RETRY_ATTEMPTS));
+        errorHandler.addNotRetryableExceptions(AlreadyExistsException.class);
+        return errorHandler;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+}
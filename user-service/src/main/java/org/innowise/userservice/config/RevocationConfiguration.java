@@ -0,0 +1,17 @@
+package org.innowise.userservice.config;
+
+import org.innowise.common.util.RevocationList;
+import org.innowise.userservice.util.RevocationListPoller;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The revocation snapshot checked by {@link JwtAuthenticationFilter}, kept current by {@link RevocationListPoller}.
+ */
+@Configuration
+public class RevocationConfiguration {
+    @Bean
+    public RevocationList revocationList() {
+        return new RevocationList();
+    }
+}
@@ -0,0 +1,16 @@
+package org.innowise.userservice.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Published by auth-service for every committed registration; {@code userId} is the account id the profile
+ * must be created under.
+ */
+public record UserRegisteredEvent(
+        Long userId,
+        String email,
+        String name,
+        String surname,
+        LocalDate birthDate
+) {
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +33,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(value = "UPDATE users SET name = :name, surname = :surname WHERE id = :id", nativeQuery = true)
     void updateFullNameById(Long id, String name, String surname);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "INSERT INTO users (id, email, name, surname, birth_date) "
+            + "VALUES (:id, :email, :name, :surname, :birthDate) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long id, String email, String name, String surname, LocalDate birthDate);
 }
@@ -1,7 +1,9 @@
 package org.innowise.userservice.service;
 
+import org.innowise.userservice.exception.AlreadyExistsException;
 import org.innowise.userservice.model.dto.UserDTO;
 import org.innowise.userservice.model.dto.UserFilterDTO;
+import org.innowise.userservice.model.dto.UserRegisteredEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -20,6 +22,16 @@ public interface UserService {
      */
     UserDTO createUser(UserDTO createUserRequest);
 
+    /**
+     * Creates the profile of an account registered in auth-service, under the account's id.
+     * {@link #createUser} numbers its profiles from a separate range far above the account ids, so the two
+     * never collide. Idempotent: an event for a profile that already exists with the same id and email is ignored.
+     *
+     * @param event the registration published by auth-service
+     * @throws AlreadyExistsException if the id or the email belongs to another profile
+     */
+    void provisionUser(UserRegisteredEvent event);
+
     /**
      * Retrieves a user by their unique identifier.
      *
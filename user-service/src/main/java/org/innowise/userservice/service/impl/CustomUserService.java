@@ -2,11 +2,13 @@ package org.innowise.userservice.service.impl;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.innowise.userservice.exception.AlreadyExistsException;
 import org.innowise.userservice.exception.NotFoundException;
 import org.innowise.userservice.mapper.UserMapper;
 import org.innowise.userservice.model.dto.UserDTO;
 import org.innowise.userservice.model.dto.UserFilterDTO;
+import org.innowise.userservice.model.dto.UserRegisteredEvent;
 import org.innowise.userservice.model.entity.User;
 import org.innowise.userservice.repository.UserRepository;
 import org.innowise.userservice.service.UserService;
@@ -23,6 +25,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class CustomUserService implements UserService {
     private final UserRepository userRepository;
@@ -40,6 +43,25 @@ public class CustomUserService implements UserService {
         return userMapper.toDto(savedUser);
     }
 
+    @Override
+    @Transactional
+    public void provisionUser(UserRegisteredEvent event) {
+        if (userRepository.insertIfAbsent(event.userId(), event.email(), event.name(), event.surname(),
+                event.birthDate()) == 1) {
+            log.info("Provisioned user {}", event.userId());
+            return;
+        }
+
+        boolean alreadyProvisioned = userRepository.findById(event.userId())
+                .filter(user -> user.getEmail().equals(event.email()))
+                .isPresent();
+        if (!alreadyProvisioned) {
+            throw new AlreadyExistsException("Cannot provision user " + event.userId()
+                    + ": id or email belongs to another profile");
+        }
+        log.debug("User {} is already provisioned", event.userId());
+    }
+
     @Override
     @Cacheable(value = ApplicationConstant.USERS, key = "#id")
     public UserDTO getUserById(Long id) {
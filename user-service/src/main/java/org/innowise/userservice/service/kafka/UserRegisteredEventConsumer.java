@@ -0,0 +1,26 @@
+package org.innowise.userservice.service.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.innowise.userservice.model.dto.UserRegisteredEvent;
+import org.innowise.userservice.service.UserService;
+import org.innowise.userservice.util.ApplicationConstant;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserRegisteredEventConsumer {
+    private final UserService userService;
+
+    @KafkaListener(topics = ApplicationConstant.TOPIC_USER_REGISTERED)
+    public void handleUserRegisteredEvent(UserRegisteredEvent event) {
+        log.info("Received UserRegisteredEvent for user {}", event.userId());
+
+        if (event.userId() == null || event.email() == null) {
+            throw new IllegalArgumentException("Invalid UserRegisteredEvent: " + event);
+        }
+        userService.provisionUser(event);
+    }
+}
@@ -14,5 +14,16 @@ public final class ApplicationConstant {
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer ";
     public static final int BEARER_PREFIX_LENGTH = BEARER_PREFIX.length();
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String USER_EXPIRES_HEADER = "X-User-Expires";
+    public static final String USER_SIGNATURE_HEADER = "X-User-Signature";
+    public static final String ROLES_DELIMITER = ",";
+
+    public static final String TOPIC_USER_REGISTERED = "USER_REGISTERED";
+    public static final String TOPIC_USER_REGISTERED_DLQ = "USER_REGISTERED_DLQ";
+    public static final int PARTITION_COUNT = 1;
+    public static final short REPLICATION_FACTOR = 1;
 
 }
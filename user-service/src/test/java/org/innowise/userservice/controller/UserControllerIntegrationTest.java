@@ -3,13 +3,18 @@ package org.innowise.userservice.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
 import org.innowise.userservice.model.dto.UserDTO;
+import org.innowise.userservice.model.dto.UserRegisteredEvent;
+import org.innowise.userservice.service.UserService;
 import org.innowise.userservice.util.ErrorConstant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -19,16 +24,19 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.jdbc.JdbcTestUtils;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import javax.sql.DataSource;
 import java.time.LocalDate;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 @Testcontainers
 class UserControllerIntegrationTest {
+    private static final long DIRECT_ID_START = 1_000_000_000_000_000L;
 
     @Autowired
     private TestRestTemplate restTemplate;
@@ -36,6 +44,12 @@ class UserControllerIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
     private String baseUrl;
 
     @BeforeEach
@@ -75,6 +89,22 @@ class UserControllerIntegrationTest {
         }
     }
 
+    @Test
+    void createUser_ThenAccountWithTheNextIdIsProvisioned_KeepsBothProfiles() {
+        applyDirectIdRange();
+
+        ResponseEntity<UserDTO> created = restTemplate.postForEntity(baseUrl,
+                createUserDTO("admin", "admin-created@example.com"), UserDTO.class);
+        userService.provisionUser(new UserRegisteredEvent(1L, "account@example.com", "Account", "Owner",
+                LocalDate.of(2001, 9, 25)));
+
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertTrue(created.getBody().id() >= DIRECT_ID_START);
+        ResponseEntity<UserDTO> provisioned = restTemplate.getForEntity(baseUrl + "/1", UserDTO.class);
+        assertEquals(HttpStatus.OK, provisioned.getStatusCode());
+        assertEquals("account@example.com", provisioned.getBody().email());
+    }
+
     @Test
     void createUser_WhenInvalidDataProvided_ReturnsBadRequest() {
         UserDTO invalidUser = createUserDTO("1", "1");
@@ -285,6 +315,18 @@ class UserControllerIntegrationTest {
                 .build();
     }
 
+    private void applyDirectIdRange() {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/v2/v2-accumulative-changelog.yml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (LiquibaseException e) {
+            throw new IllegalStateException("Failed to apply the direct id range", e);
+        }
+    }
+
     private void createTestUser(String username, String email) {
         UserDTO userRequest = createUserDTO(username, email);
         restTemplate.postForEntity(baseUrl, userRequest, UserDTO.class);
@@ -5,6 +5,7 @@ import org.innowise.userservice.exception.NotFoundException;
 import org.innowise.userservice.mapper.UserMapper;
 import org.innowise.userservice.model.dto.UserDTO;
 import org.innowise.userservice.model.dto.UserFilterDTO;
+import org.innowise.userservice.model.dto.UserRegisteredEvent;
 import org.innowise.userservice.model.entity.User;
 import org.innowise.userservice.repository.UserRepository;
 import org.innowise.userservice.service.impl.CustomUserService;
@@ -22,10 +23,12 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -177,4 +180,35 @@ class CustomUserServiceUnitTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(validUserDTO, result.getContent().getFirst());
     }
+
+    @Test
+    void provisionUser_WhenProfileIsNew_InsertsUnderTheAccountId() {
+        UserRegisteredEvent event = new UserRegisteredEvent(42L, "test@example.com", "John", "Doe", null);
+        when(userRepository.insertIfAbsent(42L, "test@example.com", "John", "Doe", null)).thenReturn(1);
+
+        customUserService.provisionUser(event);
+
+        verify(userRepository).insertIfAbsent(42L, "test@example.com", "John", "Doe", null);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void provisionUser_WhenEventIsRedelivered_IgnoresIt() {
+        UserRegisteredEvent event = new UserRegisteredEvent(42L, "test@example.com", "John", "Doe", null);
+        User existing = new User();
+        existing.setEmail("test@example.com");
+        when(userRepository.insertIfAbsent(42L, "test@example.com", "John", "Doe", null)).thenReturn(0);
+        when(userRepository.findById(42L)).thenReturn(Optional.of(existing));
+
+        assertDoesNotThrow(() -> customUserService.provisionUser(event));
+    }
+
+    @Test
+    void provisionUser_WhenEmailBelongsToAnotherProfile_ThrowsAlreadyExistsException() {
+        UserRegisteredEvent event = new UserRegisteredEvent(42L, "test@example.com", "John", "Doe", null);
+        when(userRepository.insertIfAbsent(42L, "test@example.com", "John", "Doe", null)).thenReturn(0);
+        when(userRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThrows(AlreadyExistsException.class, () -> customUserService.provisionUser(event));
+    }
 }
@@ -0,0 +1,81 @@
+package org.innowise.userservice.util;
+
+import org.innowise.common.util.HeaderSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityHeaderVerifierUnitTest {
+    private static final String SECRET = "test-identity-secret";
+    private static final String EMAIL = "user@example.com";
+    private static final String ROLES = "ROLE_USER";
+
+    private final HeaderSignature gateway = new HeaderSignature(SECRET);
+    private final IdentityHeaderVerifier identityHeaderVerifier = new IdentityHeaderVerifier(SECRET);
+
+    @Test
+    void isTrusted_WithHeadersSignedByGateway_ShouldReturnTrue() {
+        MockHttpServletRequest request = signed("42", expiresIn(60));
+
+        assertTrue(identityHeaderVerifier.hasIdentity(request));
+        assertTrue(identityHeaderVerifier.isTrusted(request));
+    }
+
+    @Test
+    void isTrusted_WithEmptyUserIdOfLegacyToken_ShouldReturnTrue() {
+        assertTrue(identityHeaderVerifier.isTrusted(signed("", expiresIn(60))));
+    }
+
+    @Test
+    void isTrusted_WithExpiredHeaders_ShouldReturnFalse() {
+        assertFalse(identityHeaderVerifier.isTrusted(signed("42", expiresIn(-1))));
+    }
+
+    @Test
+    void isTrusted_WithChangedUserId_ShouldReturnFalse() {
+        MockHttpServletRequest request = signed("42", expiresIn(60));
+        request.removeHeader(ApplicationConstant.USER_ID_HEADER);
+        request.addHeader(ApplicationConstant.USER_ID_HEADER, "1");
+
+        assertFalse(identityHeaderVerifier.isTrusted(request));
+    }
+
+    @Test
+    void isTrusted_WithOtherSecret_ShouldReturnFalse() {
+        String expires = expiresIn(60);
+        MockHttpServletRequest request = headers("42", expires,
+                new HeaderSignature("other-secret").sign("42", EMAIL, ROLES, expires));
+
+        assertFalse(identityHeaderVerifier.isTrusted(request));
+    }
+
+    @Test
+    void isTrusted_WithoutUserIdHeader_ShouldReturnFalse() {
+        MockHttpServletRequest request = signed("42", expiresIn(60));
+        request.removeHeader(ApplicationConstant.USER_ID_HEADER);
+
+        assertFalse(identityHeaderVerifier.isTrusted(request));
+    }
+
+    private MockHttpServletRequest signed(String id, String expires) {
+        return headers(id, expires, gateway.sign(id, EMAIL, ROLES, expires));
+    }
+
+    private static MockHttpServletRequest headers(String id, String expires, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ApplicationConstant.USER_ID_HEADER, id);
+        request.addHeader(ApplicationConstant.USER_EMAIL_HEADER, EMAIL);
+        request.addHeader(ApplicationConstant.USER_ROLES_HEADER, ROLES);
+        request.addHeader(ApplicationConstant.USER_EXPIRES_HEADER, expires);
+        request.addHeader(ApplicationConstant.USER_SIGNATURE_HEADER, signature);
+        return request;
+    }
+
+    private static String expiresIn(long seconds) {
+        return String.valueOf(Instant.now().plusSeconds(seconds).getEpochSecond());
+    }
+}